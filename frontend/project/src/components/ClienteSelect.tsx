@@ -2,34 +2,42 @@ import { useState, useEffect, useRef } from 'react';
 import { Check, ChevronsUpDown, Plus, Search } from 'lucide-react';
 import { Button } from './ui/button';
 import { Input } from './ui/input';
-import { useClientes } from '../hooks/useClientes';
-
-interface Cliente {
-    idCliente: number;
-    nomeCliente: string;
-    cnpjCliente: string;
-    telefoneCliente: string;
-    emailCliente: string;
-}
+import { useClientes, SugestaoCliente } from '../hooks/useClientes';
 
 interface ClienteSelectProps {
     value?: { idCliente: number; nomeCliente: string };
-    onChange: (cliente: Cliente | null) => void;
+    onChange: (cliente: SugestaoCliente | null) => void;
     onAddNew?: () => void; // Callback para quando clicar em "Adicionar Novo"
 }
 
 export function ClienteSelect({ value, onChange, onAddNew }: ClienteSelectProps) {
     const [open, setOpen] = useState(false);
     const [searchTerm, setSearchTerm] = useState('');
-    const { clientes, carregarClientes, loading } = useClientes();
+    const [sugestoes, setSugestoes] = useState<SugestaoCliente[]>([]);
+    const [loading, setLoading] = useState(false);
+    const { buscarSugestoes } = useClientes();
     const wrapperRef = useRef<HTMLDivElement>(null);
 
-    // Carrega clientes ao montar (ou foca em buscar sob demanda)
+    // Busca sugestões no servidor enquanto o usuário digita (com pequeno atraso entre teclas)
     useEffect(() => {
-        if (open && clientes.length === 0) {
-            carregarClientes();
+        if (!open || !searchTerm.trim()) {
+            setSugestoes([]);
+            return;
         }
-    }, [open]);
+        let cancelado = false;
+        const timer = setTimeout(async () => {
+            setLoading(true);
+            const resultado = await buscarSugestoes(searchTerm.trim());
+            if (!cancelado) {
+                setSugestoes(resultado);
+                setLoading(false);
+            }
+        }, 150);
+        return () => {
+            cancelado = true;
+            clearTimeout(timer);
+        };
+    }, [open, searchTerm]);
 
     // Fecha o dropdown ao clicar fora
     useEffect(() => {
@@ -42,18 +50,8 @@ export function ClienteSelect({ value, onChange, onAddNew }: ClienteSelectProps)
         return () => document.removeEventListener("mousedown", handleClickOutside);
     }, [wrapperRef]);
 
-    // Filtra clientes baseado na busca (nome, cnpj, telefone, email)
-    const filteredClientes = clientes.filter((cliente: any) => {
-        const c = cliente as Cliente;
-        if (!searchTerm) return true;
-        const search = searchTerm.toLowerCase();
-        return (
-            c.nomeCliente?.toLowerCase().includes(search) ||
-            c.cnpjCliente?.includes(search) ||
-            c.telefoneCliente?.includes(search) ||
-            c.emailCliente?.toLowerCase().includes(search)
-        );
-    });
+    // A filtragem (nome e CNPJ, sem acento) é feita pelo servidor
+    const filteredClientes = sugestoes;
 
     return (
         <div className="relative w-full" ref={wrapperRef}>
@@ -73,7 +71,7 @@ export function ClienteSelect({ value, onChange, onAddNew }: ClienteSelectProps)
                         <div className="relative">
                             <Search className="absolute left-2 top-2.5 h-4 w-4 text-slate-500" />
                             <Input
-                                placeholder="Buscar (Nome, CNPJ, Tel...)"
+                                placeholder="Buscar (Nome ou CNPJ)"
                                 value={searchTerm}
                                 onChange={(e) => setSearchTerm(e.target.value)}
                                 className="pl-8 border-0 focus-visible:ring-0 bg-slate-50"
@@ -85,6 +83,8 @@ export function ClienteSelect({ value, onChange, onAddNew }: ClienteSelectProps)
                     <div className="p-1">
                         {loading ? (
                             <div className="py-2 text-center text-sm text-slate-500">Carregando...</div>
+                        ) : !searchTerm.trim() ? (
+                            <div className="py-2 text-center text-sm text-slate-500">Digite o nome ou CNPJ do cliente.</div>
                         ) : filteredClientes.length === 0 ? (
                             <div className="py-4 text-center text-sm text-slate-500">
                                 <p className="mb-2">Nenhum cliente encontrado.</p>
@@ -105,13 +105,12 @@ export function ClienteSelect({ value, onChange, onAddNew }: ClienteSelectProps)
                                 )}
                             </div>
                         ) : (
-                            filteredClientes.map((cliente: any) => {
-                                const c = cliente as Cliente;
+                            filteredClientes.map((c) => {
                                 return (
 
                                     <div
                                         key={c.idCliente}
-                                        className={`relative flex cursor-pointer select-none items-center rounded-sm px-2 py-1.5 text-sm outline-none hover:bg-slate-100 hover:text-slate-900 ${value?.idCliente === cliente.idCliente ? "bg-slate-100" : ""
+                                        className={`relative flex cursor-pointer select-none items-center rounded-sm px-2 py-1.5 text-sm outline-none hover:bg-slate-100 hover:text-slate-900 ${value?.idCliente === c.idCliente ? "bg-slate-100" : ""
                                             }`}
                                         onClick={() => {
                                             onChange(c); // Passa o objeto cliente completo ou mapeia conforme necessário
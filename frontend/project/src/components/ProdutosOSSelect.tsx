@@ -26,15 +26,26 @@ interface ProdutosOSSelectProps {
 export function ProdutosOSSelect({ itens, onChange, onAddNew }: ProdutosOSSelectProps) {
     const [open, setOpen] = useState(false);
     const [searchTerm, setSearchTerm] = useState('');
-    const { produtos, carregarProdutos } = useProdutos();
+    const [sugestoes, setSugestoes] = useState<Produto[]>([]);
+    const { buscarSugestoes } = useProdutos();
     const wrapperRef = useRef<HTMLDivElement>(null);
 
-    // Carrega produtos ao abrir o dropdown
+    // Busca sugestões no servidor enquanto o usuário digita (com pequeno atraso entre teclas)
     useEffect(() => {
-        if (open && produtos.length === 0) {
-            carregarProdutos();
+        if (!open || !searchTerm.trim()) {
+            setSugestoes([]);
+            return;
         }
-    }, [open]);
+        let cancelado = false;
+        const timer = setTimeout(async () => {
+            const resultado = await buscarSugestoes(searchTerm.trim());
+            if (!cancelado) setSugestoes(resultado);
+        }, 150);
+        return () => {
+            cancelado = true;
+            clearTimeout(timer);
+        };
+    }, [open, searchTerm]);
 
     // Fecha ao clicar fora
     useEffect(() => {
@@ -47,9 +58,8 @@ export function ProdutosOSSelect({ itens, onChange, onAddNew }: ProdutosOSSelect
         return () => document.removeEventListener("mousedown", handleClickOutside);
     }, [wrapperRef]);
 
-    const filteredProdutos = produtos.filter((p: any) =>
-        p.nomeProduto.toLowerCase().includes(searchTerm.toLowerCase())
-    );
+    // A filtragem (prefixo de palavra, sem acento) é feita pelo servidor
+    const filteredProdutos = sugestoes;
 
     const handleAddProduto = (produto: Produto) => {
         // Verifica se já existe
@@ -105,7 +115,9 @@ export function ProdutosOSSelect({ itens, onChange, onAddNew }: ProdutosOSSelect
                             </div>
                         </div>
                         <div className="p-1">
-                            {filteredProdutos.length === 0 ? (
+                            {!searchTerm.trim() ? (
+                                <div className="py-2 text-center text-sm text-slate-500">Digite o nome do produto.</div>
+                            ) : filteredProdutos.length === 0 ? (
                                 <div className="py-4 text-center text-sm text-slate-500">
                                     <p className="mb-2">Nenhum produto encontrado.</p>
                                     {/* ✅ Botão Adicionar Novo Produto */}
@@ -65,16 +65,18 @@ export const registerUser = async (data: FuncionarioData): Promise<boolean> => {
 
 /**
  * Verifica se um username já existe (usado antes do cadastro).
- * NOTA: Esta função requer que você implemente um endpoint GET específico no Spring Boot.
+ * O endpoint responde { username, disponivel } sem expor dados do funcionário.
  * @returns Promise<boolean>: true se o usuário existe, false se não.
  */
 export const checkIfUserExists = async (username: string): Promise<boolean> => {
     try {
-        // Faz uma requisição GET para um endpoint que deve retornar 200 se o usuário for encontrado.
-        const response = await fetch(`${API_BASE_URL}/username/${username}`);
-        
-        // Se response.ok for true (status 200), o backend confirmou que o usuário existe.
-        return response.ok; 
+        const response = await fetch(`${API_BASE_URL}/username/${encodeURIComponent(username)}`);
+        if (!response.ok) {
+            return false;
+        }
+        // disponivel = false significa que o username já está em uso
+        const resultado: { disponivel: boolean } = await response.json();
+        return !resultado.disponivel;
     } catch (error) {
         // Lida com erros de rede.
         console.error("Erro ao verificar usuário:", error);
@@ -1,6 +1,6 @@
 // hooks/useClientes.ts - VERSÃO COMPLETA
-import { useState } from 'react';
-import { getAuthHeader } from './utils.ts';
+import { useRef, useState } from 'react';
+import { aplicarMudancas, getAuthHeader, type Mudancas } from './utils.ts';
 
 const API_BASE_URL = 'http://localhost:8080/clientes';
 
@@ -12,21 +12,29 @@ interface ClienteData {
   emailCliente: string;
 }
 
+// Resultado de /clientes/sugestoes (sem o e-mail)
+export type SugestaoCliente = Omit<ClienteData, 'emailCliente'>;
+
 export const useClientes = () => {
   const [clientes, setClientes] = useState<ClienteData[]>([]);
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState<string | null>(null);
+  // número da última mudança já aplicada na lista (ver aplicarMudancas)
+  const seqRef = useRef(0);
 
   const carregarClientes = async () => {
     setLoading(true);
     setError(null);
     try {
-      const response = await fetch(API_BASE_URL, {
-        headers: getAuthHeader(),
+      // Sincronização incremental: só o que mudou desde a última carga (desde = 0 traz tudo)
+      const desde = seqRef.current;
+      const response = await fetch(`${API_BASE_URL}/mudancas?desde=${desde}`, {
+        headers: getAuthHeader()
       });
       if (response.ok) {
-        const dados = await response.json();
-        setClientes(dados);
+        const mudancas: Mudancas<ClienteData> = await response.json();
+        seqRef.current = mudancas.ate;
+        setClientes((atual) => aplicarMudancas(atual, mudancas, desde, c => c.idCliente));
       } else {
         setError('Erro ao carregar clientes');
       }
@@ -37,6 +45,20 @@ export const useClientes = () => {
     }
   };
 
+  // Typeahead: busca no índice do servidor em vez de carregar a lista inteira
+  const buscarSugestoes = async (termo: string, limite = 10): Promise<SugestaoCliente[]> => {
+    try {
+      const params = new URLSearchParams({ q: termo, limite: String(limite) });
+      const response = await fetch(`${API_BASE_URL}/sugestoes?${params}`, {
+        headers: getAuthHeader(),
+      });
+      return response.ok ? await response.json() : [];
+    } catch (err) {
+      console.error('Erro ao buscar sugestões de clientes:', err);
+      return [];
+    }
+  };
+
   const adicionarCliente = async (cliente: Omit<ClienteData, 'idCliente'>): Promise<boolean> => {
     try {
       const response = await fetch(API_BASE_URL, {
@@ -86,6 +108,7 @@ export const useClientes = () => {
     loading, 
     error, 
     carregarClientes,
+    buscarSugestoes,
     adicionarCliente,
     atualizarCliente,
     deletarCliente
@@ -1,5 +1,5 @@
-import { useState } from 'react';
-import { getAuthHeader } from './utils.ts';
+import { useRef, useState } from 'react';
+import { aplicarMudancas, getAuthHeader, type Mudancas } from './utils.ts';
 
 const API_BASE_URL = 'http://localhost:8080/os';
 
@@ -47,18 +47,23 @@ export const useOrdensServico = () => {
   const [ordens, setOrdens] = useState<OrdemServicoData[]>([]);
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState<string | null>(null);
+  // número da última mudança já aplicada na lista (ver aplicarMudancas)
+  const seqRef = useRef(0);
 
   const carregarOrdens = async () => {
     setLoading(true);
     setError(null);
     try {
       // CORREÇÃO: Adicionar o cabeçalho de autenticação
-      const response = await fetch(API_BASE_URL, {
+      // Sincronização incremental: só o que mudou desde a última carga (desde = 0 traz tudo)
+      const desde = seqRef.current;
+      const response = await fetch(`${API_BASE_URL}/mudancas?desde=${desde}`, {
         headers: getAuthHeader()
       });
       if (response.ok) {
-        const dados = await response.json();
-        setOrdens(dados);
+        const mudancas: Mudancas<OrdemServicoData> = await response.json();
+        seqRef.current = mudancas.ate;
+        setOrdens((atual) => aplicarMudancas(atual, mudancas, desde, o => o.idOS));
       } else {
         setError('Erro ao carregar ordens de serviço');
       }
@@ -111,6 +116,7 @@ export const useOrdensServico = () => {
       if (response.ok) {
         const dados = await response.json();
         setOrdens(dados); // Atualiza a lista principal com os resultados filtrados
+        seqRef.current = 0; // a lista virou resultado de busca: a próxima carga traz tudo de novo
       } else {
         setError('Erro na busca avançada');
       }
@@ -1,5 +1,5 @@
-import { useState } from 'react';
-import { getAuthHeader } from './utils.ts';
+import { useRef, useState } from 'react';
+import { aplicarMudancas, getAuthHeader, type Mudancas } from './utils.ts';
 
 const API_BASE_URL = 'http://localhost:8080/produtos';
 
@@ -10,22 +10,30 @@ interface ProdutoData {
   pesoSaida: number;
 }
 
+// Resultado de /produtos/sugestoes
+export type SugestaoProduto = Pick<ProdutoData, 'idProduto' | 'nomeProduto'>;
+
 export const useProdutos = () => {
   const [produtos, setProdutos] = useState<ProdutoData[]>([]);
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState<string | null>(null);
+  // número da última mudança já aplicada na lista (ver aplicarMudancas)
+  const seqRef = useRef(0);
 
   const carregarProdutos = async () => {
     setLoading(true);
     setError(null);
     try {
       // 2. USE A FUNÇÃO HELPER EM TODAS AS CHAMADAS 'fetch'
-      const response = await fetch(API_BASE_URL, {
+      // Sincronização incremental: só o que mudou desde a última carga (desde = 0 traz tudo)
+      const desde = seqRef.current;
+      const response = await fetch(`${API_BASE_URL}/mudancas?desde=${desde}`, {
         headers: getAuthHeader()
       });
       if (response.ok) {
-        const dados = await response.json();
-        setProdutos(dados);
+        const mudancas: Mudancas<ProdutoData> = await response.json();
+        seqRef.current = mudancas.ate;
+        setProdutos((atual) => aplicarMudancas(atual, mudancas, desde, p => p.idProduto));
       } else {
         setError('Erro ao carregar produtos');
       }
@@ -36,6 +44,20 @@ export const useProdutos = () => {
     }
   };
 
+  // Typeahead: busca no índice do servidor em vez de carregar a lista inteira
+  const buscarSugestoes = async (termo: string, limite = 10): Promise<SugestaoProduto[]> => {
+    try {
+      const params = new URLSearchParams({ q: termo, limite: String(limite) });
+      const response = await fetch(`${API_BASE_URL}/sugestoes?${params}`, {
+        headers: getAuthHeader(),
+      });
+      return response.ok ? await response.json() : [];
+    } catch (err) {
+      console.error('Erro ao buscar sugestões de produtos:', err);
+      return [];
+    }
+  };
+
   const adicionarProduto = async (produto: Omit<ProdutoData, 'idProduto'>): Promise<boolean> => {
     try {
       const response = await fetch(API_BASE_URL, {
@@ -85,6 +107,7 @@ export const useProdutos = () => {
     loading,
     error,
     carregarProdutos,
+    buscarSugestoes,
     adicionarProduto,
     atualizarProduto,
     deletarProduto
@@ -10,4 +10,33 @@ export const getAuthHeader = (): Record<string, string> => {
     return {
         'Content-Type': 'application/json',
     };
-};
\ No newline at end of file
+};
+// Resposta de GET /{recurso}/mudancas?desde=
+export interface Mudancas<T> {
+  ate: number;
+  alterados: T[];
+  excluidos: number[];
+}
+
+// Aplica as mudanças na lista local: substitui no lugar as alteradas, acrescenta as novas
+// e tira as excluídas. Com desde = 0 a resposta é a lista inteira (ordenada pelo id)
+export const aplicarMudancas = <T,>(
+  atual: T[],
+  mudancas: Mudancas<T>,
+  desde: number,
+  chave: (item: T) => number
+): T[] => {
+  if (desde === 0) {
+    return [...mudancas.alterados].sort((a, b) => chave(a) - chave(b));
+  }
+  const excluidos = new Set(mudancas.excluidos);
+  const alterados = new Map(mudancas.alterados.map((item) => [chave(item), item]));
+  const resultado: T[] = [];
+  for (const item of atual) {
+    const id = chave(item);
+    if (excluidos.has(id) && !alterados.has(id)) continue;
+    resultado.push(alterados.get(id) ?? item);
+    alterados.delete(id);
+  }
+  return [...resultado, ...alterados.values()];
+};
@@ -0,0 +1,54 @@
+#!/usr/bin/env bash
+# Mede o tempo até a primeira resposta 200 de GET /os nos dois modos:
+# jar padrão e build de inicialização rápida (AOT + CDS).
+#
+# Requer o banco configurado em application.properties e um funcionário cadastrado.
+# Uso: USUARIO=admin SENHA=segredo scripts/benchmark-inicio.sh [repeticoes]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+USUARIO=${USUARIO:?defina USUARIO}
+SENHA=${SENHA:?defina SENHA}
+REPETICOES=${1:-5}
+PORTA=${PORTA:-8080}
+JAR=sistema_web-0.0.1-SNAPSHOT.jar
+
+# Build padrão, guardado à parte porque o build rápido sobrescreve target/$JAR
+./mvnw -B -q -DskipTests package
+cp "target/$JAR" target/padrao.jar
+scripts/inicio-rapido.sh
+
+# Sobe a aplicação com o comando recebido e imprime os ms até o primeiro /os com sucesso
+medir() {
+    local inicio pid fim
+    inicio=$(date +%s%N)
+    "$@" --server.port="$PORTA" > target/benchmark-inicio.log 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null -u "$USUARIO:$SENHA" "http://localhost:$PORTA/os"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "aplicação encerrou antes de responder, veja target/benchmark-inicio.log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    fim=$(date +%s%N)
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo $(( (fim - inicio) / 1000000 ))
+}
+
+for modo in padrao rapido; do
+    total=0
+    for ((i = 1; i <= REPETICOES; i++)); do
+        if [ "$modo" = padrao ]; then
+            ms=$(medir java -jar target/padrao.jar)
+        else
+            ms=$(medir java -XX:SharedArchiveFile=target/rapido/app.jsa -Dspring.aot.enabled=true \
+                 -jar "target/rapido/$JAR")
+        fi
+        echo "$modo #$i: ${ms} ms"
+        total=$((total + ms))
+    done
+    echo "$modo média: $((total / REPETICOES)) ms"
+done
@@ -0,0 +1,27 @@
+#!/usr/bin/env bash
+# Gera o build de inicialização rápida: jar com processamento AOT do Spring,
+# extraído em camadas, mais um arquivo CDS (AppCDS) criado numa execução de treino.
+#
+# Uso: scripts/inicio-rapido.sh
+# Depois: java -XX:SharedArchiveFile=target/rapido/app.jsa -Dspring.aot.enabled=true \
+#             -jar target/rapido/sistema_web-0.0.1-SNAPSHOT.jar
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+JAR=sistema_web-0.0.1-SNAPSHOT.jar
+DESTINO=target/rapido
+
+./mvnw -B -q -Pinicio-rapido -DskipTests package
+
+# O CDS exige um classpath de jars estáveis, por isso o jar é extraído
+rm -rf "$DESTINO"
+java -Djarmode=tools -jar "target/$JAR" extract --destination "$DESTINO"
+
+# Execução de treino: sobe o contexto até o refresh e encerra, gravando as classes carregadas
+java -XX:ArchiveClassesAtExit="$DESTINO/app.jsa" \
+     -Dspring.aot.enabled=true \
+     -Dspring.context.exit=onRefresh \
+     -jar "$DESTINO/$JAR"
+
+echo "Arquivo CDS gerado em $DESTINO/app.jsa"
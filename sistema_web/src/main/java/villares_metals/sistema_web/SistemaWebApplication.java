@@ -2,8 +2,10 @@ package villares_metals.sistema_web;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class SistemaWebApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,94 @@
+package villares_metals.sistema_web.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import villares_metals.sistema_web.service.Compartimento;
+import villares_metals.sistema_web.service.CompartimentoService;
+
+// Passa cada requisição pelo compartimento da sua classe (ver CompartimentoService).
+// Sem vaga dentro do tempo de espera: 503 com Retry-After, sem ocupar banco.
+// Roda depois do Spring Security, então requisições não autenticadas não ocupam vaga.
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+public class CompartimentoFilter extends OncePerRequestFilter {
+
+    private final CompartimentoService compartimentoService;
+
+    public CompartimentoFilter(CompartimentoService compartimentoService) {
+        this.compartimentoService = compartimentoService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (HttpMethod.OPTIONS.matches(request.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        Compartimento compartimento = compartimentoService.classificar(request.getMethod(), caminho);
+
+        boolean entrou;
+        try {
+            entrou = compartimento.entrar();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            entrou = false;
+        }
+        if (!entrou) {
+            long segundos = Math.max(1, (compartimento.getEsperaMaximaMs() + 999) / 1000);
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", String.valueOf(segundos));
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getWriter().write("Servidor ocupado, tente novamente em instantes");
+            return;
+        }
+
+        AtomicBoolean liberada = new AtomicBoolean();
+        Runnable liberar = () -> {
+            if (liberada.compareAndSet(false, true)) {
+                compartimento.sair();
+            }
+        };
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // respostas em streaming (/os/fichas) só liberam a vaga quando terminam
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        liberar.run();
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                        liberar.run();
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                        liberar.run();
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                liberar.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package villares_metals.sistema_web.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import org.hibernate.Hibernate;
+import villares_metals.sistema_web.domain.Cliente;
+import villares_metals.sistema_web.domain.OrdemServico;
+import villares_metals.sistema_web.domain.OrdenaProduto;
+import villares_metals.sistema_web.domain.Produto;
+import villares_metals.sistema_web.domain.ids.OrdenaProdutoId;
+
+// Serializadores escritos à mão para as entidades das listagens grandes (/os, /busca, /clientes,
+// /produtos). Escrevem os campos direto no JsonGenerator, sem reflexão nem a inspeção de proxies do
+// Hibernate6Module em cada associação; os objetos aninhados são escritos por chamada direta, sem
+// procurar serializador. O JSON é o mesmo do Jackson padrão com as anotações das entidades:
+// mesmos nomes e ordem de campos, @JsonIgnore/@JsonBackReference/@JsonIgnoreProperties respeitados,
+// associação não carregada = null (como o Hibernate6Module). Ver EntidadesModuleTest.
+// Campo novo numa dessas entidades precisa entrar aqui também.
+public class EntidadesModule extends SimpleModule {
+
+    public EntidadesModule() {
+        super("EntidadesModule");
+        addSerializer(OrdemServico.class, new OrdemServicoSerializer());
+        addSerializer(OrdenaProduto.class, new OrdenaProdutoSerializer());
+        addSerializer(Cliente.class, new ClienteSerializer());
+        addSerializer(Produto.class, new ProdutoSerializer());
+    }
+
+    static class OrdemServicoSerializer extends StdSerializer<OrdemServico> {
+
+        OrdemServicoSerializer() {
+            super(OrdemServico.class);
+        }
+
+        @Override
+        public void serialize(OrdemServico os, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            escreverOS(os, gen, true);
+        }
+    }
+
+    static class OrdenaProdutoSerializer extends StdSerializer<OrdenaProduto> {
+
+        OrdenaProdutoSerializer() {
+            super(OrdenaProduto.class);
+        }
+
+        @Override
+        public void serialize(OrdenaProduto item, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            escreverItem(item, gen);
+        }
+    }
+
+    static class ClienteSerializer extends StdSerializer<Cliente> {
+
+        ClienteSerializer() {
+            super(Cliente.class);
+        }
+
+        @Override
+        public void serialize(Cliente cliente, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            escreverCliente(cliente, gen, true);
+        }
+    }
+
+    static class ProdutoSerializer extends StdSerializer<Produto> {
+
+        ProdutoSerializer() {
+            super(Produto.class);
+        }
+
+        @Override
+        public void serialize(Produto produto, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            escreverProduto(produto, gen);
+        }
+    }
+
+    // comCliente = false dentro de Cliente.ordensServico (@JsonIgnoreProperties("cliente"))
+    private static void escreverOS(OrdemServico os, JsonGenerator gen, boolean comCliente) throws IOException {
+        gen.writeStartObject(os);
+        escreverInteiro(gen, "idOS", os.getIdOS());
+        gen.writeStringField("descricao", os.getDescricao());
+        escreverData(gen, "dataEntrega", os.getDataEntrega());
+        escreverDataHora(gen, "dataAprovacao", os.getDataAprovacao());
+        escreverBooleano(gen, "statusPagamento", os.getStatusPagamento());
+        gen.writeStringField("statusProducao", os.getStatusProducao() != null ? os.getStatusProducao().name() : null);
+        gen.writeNumberField("valorServico", os.getValorServico());
+        if (comCliente) {
+            gen.writeFieldName("cliente");
+            Cliente cliente = os.getCliente();
+            if (cliente == null || !Hibernate.isInitialized(cliente)) {
+                gen.writeNull();
+            } else {
+                // OS.cliente tem @JsonIgnoreProperties("ordensServico")
+                escreverCliente(cliente, gen, false);
+            }
+        }
+        gen.writeFieldName("itensDoPedido");
+        List<OrdenaProduto> itens = os.getItensDoPedido();
+        if (itens == null || !Hibernate.isInitialized(itens)) {
+            gen.writeNull();
+        } else {
+            gen.writeStartArray(itens, itens.size());
+            for (OrdenaProduto item : itens) {
+                escreverItem(item, gen);
+            }
+            gen.writeEndArray();
+        }
+        escreverLongo(gen, "seqMudanca", os.getSeqMudanca());
+        gen.writeEndObject();
+    }
+
+    // ordemServico fica de fora (@JsonBackReference)
+    private static void escreverItem(OrdenaProduto item, JsonGenerator gen) throws IOException {
+        if (item == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject(item);
+        gen.writeFieldName("id");
+        OrdenaProdutoId id = item.getId();
+        if (id == null) {
+            gen.writeNull();
+        } else {
+            gen.writeStartObject(id);
+            escreverInteiro(gen, "os", id.getOs());
+            escreverInteiro(gen, "produto", id.getProduto());
+            gen.writeEndObject();
+        }
+        gen.writeFieldName("produto");
+        Produto produto = item.getProduto();
+        if (produto == null || !Hibernate.isInitialized(produto)) {
+            gen.writeNull();
+        } else {
+            escreverProduto(produto, gen);
+        }
+        escreverInteiro(gen, "quantidade", item.getQuantidade());
+        gen.writeEndObject();
+    }
+
+    // comOrdens = false dentro de OrdemServico.cliente (@JsonIgnoreProperties("ordensServico"))
+    private static void escreverCliente(Cliente cliente, JsonGenerator gen, boolean comOrdens) throws IOException {
+        gen.writeStartObject(cliente);
+        escreverInteiro(gen, "idCliente", cliente.getIdCliente());
+        gen.writeStringField("nomeCliente", cliente.getNomeCliente());
+        gen.writeStringField("cnpjCliente", cliente.getCnpjCliente());
+        gen.writeStringField("telefoneCliente", cliente.getTelefoneCliente());
+        gen.writeStringField("emailCliente", cliente.getEmailCliente());
+        if (comOrdens) {
+            gen.writeFieldName("ordensServico");
+            List<OrdemServico> ordens = cliente.getOrdensServico();
+            if (ordens == null || !Hibernate.isInitialized(ordens)) {
+                gen.writeNull();
+            } else {
+                gen.writeStartArray(ordens, ordens.size());
+                for (OrdemServico os : ordens) {
+                    escreverOS(os, gen, false);
+                }
+                gen.writeEndArray();
+            }
+        }
+        escreverLongo(gen, "seqMudanca", cliente.getSeqMudanca());
+        gen.writeEndObject();
+    }
+
+    private static void escreverProduto(Produto produto, JsonGenerator gen) throws IOException {
+        gen.writeStartObject(produto);
+        escreverInteiro(gen, "idProduto", produto.getIdProduto());
+        gen.writeStringField("nomeProduto", produto.getNomeProduto());
+        gen.writeStringField("pesoEntrada", produto.getPesoEntrada());
+        gen.writeStringField("pesoSaida", produto.getPesoSaida());
+        escreverLongo(gen, "seqMudanca", produto.getSeqMudanca());
+        gen.writeEndObject();
+    }
+
+    private static void escreverInteiro(JsonGenerator gen, String campo, Integer valor) throws IOException {
+        if (valor == null) {
+            gen.writeNullField(campo);
+        } else {
+            gen.writeNumberField(campo, valor.intValue());
+        }
+    }
+
+    private static void escreverLongo(JsonGenerator gen, String campo, Long valor) throws IOException {
+        if (valor == null) {
+            gen.writeNullField(campo);
+        } else {
+            gen.writeNumberField(campo, valor.longValue());
+        }
+    }
+
+    private static void escreverBooleano(JsonGenerator gen, String campo, Boolean valor) throws IOException {
+        if (valor == null) {
+            gen.writeNullField(campo);
+        } else {
+            gen.writeBooleanField(campo, valor);
+        }
+    }
+
+    // Mesmo formato do JavaTimeModule com WRITE_DATES_AS_TIMESTAMPS desligado (padrão do Spring Boot)
+    private static void escreverData(JsonGenerator gen, String campo, LocalDate valor) throws IOException {
+        gen.writeStringField(campo, valor != null ? valor.toString() : null);
+    }
+
+    private static void escreverDataHora(JsonGenerator gen, String campo, LocalDateTime valor) throws IOException {
+        gen.writeStringField(campo, valor != null ? DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(valor) : null);
+    }
+}
@@ -0,0 +1,56 @@
+package villares_metals.sistema_web.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import java.util.List;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Formatos binários por negociação de conteúdo: com Accept: application/cbor ou
+// application/x-jackson-smile as listagens (/os, /busca, /clientes, /produtos, /mudancas) saem
+// em CBOR ou Smile, com os mesmos campos do JSON. Sem Accept específico continua JSON.
+// Os mappers saem do builder do Spring Boot, então levam os mesmos módulos (Hibernate6Module,
+// EntidadesModule, datas como texto) que o JSON. Os conversores padrão do Spring MVC para esses
+// formatos usam um mapper sem esses módulos e são substituídos aqui.
+@Configuration
+public class FormatosBinariosConfig implements WebMvcConfigurer {
+
+    private final Jackson2ObjectMapperBuilder builder;
+
+    public FormatosBinariosConfig(Jackson2ObjectMapperBuilder builder) {
+        this.builder = builder;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(c -> c instanceof MappingJackson2CborHttpMessageConverter
+                || c instanceof MappingJackson2SmileHttpMessageConverter);
+
+        // Smile: nomes de cliente/produto e status se repetem muito nas listas, então
+        // valores de texto repetidos viram referência curta
+        SmileFactory smile = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        MappingJackson2CborHttpMessageConverter cborConverter =
+                new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+        MappingJackson2SmileHttpMessageConverter smileConverter =
+                new MappingJackson2SmileHttpMessageConverter(builder.factory(smile).build());
+
+        // logo depois do JSON, para que */* continue resolvendo para JSON
+        int posicao = converters.size();
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter) {
+                posicao = i + 1;
+                break;
+            }
+        }
+        converters.add(posicao, smileConverter);
+        converters.add(posicao, cborConverter);
+    }
+}
@@ -12,4 +12,10 @@ public class JacksonConfig {
         // Este módulo permite que o Jackson lide com Lazy Loading e proxies do Hibernate
         return new Hibernate6Module();
     }
+
+    @Bean
+    public EntidadesModule entidadesModule() {
+        // Serializadores diretos de OS, item, cliente e produto (listagens grandes)
+        return new EntidadesModule();
+    }
 }
@@ -8,8 +8,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import villares_metals.sistema_web.domain.Cliente;
+import villares_metals.sistema_web.dto.Mudancas;
+import villares_metals.sistema_web.dto.SugestaoCliente;
 import villares_metals.sistema_web.service.ClienteService;
 
 @RestController
@@ -26,11 +29,26 @@ public class ClienteController {
         return clienteService.getCliente(id);
     }
     
+    // Typeahead do seletor: ex. /clientes/sugestoes?q=aco&limite=10
+    @GetMapping(path = "/clientes/sugestoes")
+    public List<SugestaoCliente> sugerirClientes(
+            @RequestParam("q") String termo,
+            @RequestParam(defaultValue = "10") int limite
+    ) {
+        return clienteService.sugerirClientes(termo, Math.max(1, Math.min(limite, 50)));
+    }
+    
     @GetMapping(path = "/clientes")
     public List<Cliente> listarClientes() {
         return clienteService.listarClientes();
     }
     
+    // Sincronização incremental: /clientes/mudancas?desde=<ate da resposta anterior> (0 = tudo)
+    @GetMapping(path = "/clientes/mudancas")
+    public Mudancas<Cliente> mudancasClientes(@RequestParam(defaultValue = "0") long desde) {
+        return clienteService.mudancasClientes(desde);
+    }
+    
     @PostMapping(path = "/clientes")
     public Cliente postCliente(@RequestBody Cliente cliente){
         return clienteService.postCliente(cliente);
@@ -0,0 +1,23 @@
+package villares_metals.sistema_web.controller;
+
+import java.util.List;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import villares_metals.sistema_web.dto.EstatisticasCompartimento;
+import villares_metals.sistema_web.service.CompartimentoService;
+
+@RestController
+public class CompartimentoController {
+    
+    private CompartimentoService compartimentoService;
+    
+    public CompartimentoController(CompartimentoService compartimentoService) {
+        this.compartimentoService = compartimentoService;
+    }
+    
+    // Ocupação, fila e rejeições dos compartimentos pesado e interativo
+    @GetMapping(path = "/compartimentos")
+    public List<EstatisticasCompartimento> estatisticas() {
+        return compartimentoService.estatisticas();
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 import villares_metals.sistema_web.domain.Funcionario;
+import villares_metals.sistema_web.dto.DisponibilidadeUsername;
 import villares_metals.sistema_web.service.FuncionarioService;
 
 @RestController
@@ -26,9 +27,10 @@ public class FuncionarioController {
         return funcionarioService.getFuncionario(id);
     }
     
+    // Verificação do formulário de cadastro: só diz se o username está livre
     @GetMapping(path = "/funcionarios/username/{user}")
-    public Funcionario getFuncionarioExiste(@PathVariable("user") String user) {
-        return funcionarioService.verificarLoginExistente(user);
+    public DisponibilidadeUsername getFuncionarioExiste(@PathVariable("user") String user) {
+        return new DisponibilidadeUsername(user, funcionarioService.isUsernameDisponivel(user));
     }
     
     @GetMapping(path = "/funcionarios")
@@ -1,9 +1,11 @@
 package villares_metals.sistema_web.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,21 +15,31 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import villares_metals.sistema_web.domain.OrdemServico;
+import villares_metals.sistema_web.dto.Mudancas;
+import villares_metals.sistema_web.service.FichaOSService;
 import villares_metals.sistema_web.service.OrdemServicoService;
 
 @RestController
 public class OrdemServicoController {
     
     private OrdemServicoService ordemServicoService;
+    private FichaOSService fichaOSService;
     
-    public OrdemServicoController(OrdemServicoService ordemServicoService) {
+    public OrdemServicoController(OrdemServicoService ordemServicoService, FichaOSService fichaOSService) {
         this.ordemServicoService = ordemServicoService;
+        this.fichaOSService = fichaOSService;
     }
     
+    // JSON já serializado (ver CacheRespostaOS): OS repetidas saem da memória sem ir ao banco
     @GetMapping(path = "/os/{id}")
-    public OrdemServico getOS(@PathVariable("id") Integer id) {
-        return ordemServicoService.getOS(id);
+    public ResponseEntity<byte[]> getOS(@PathVariable("id") Integer id) throws JsonProcessingException {
+        byte[] json = ordemServicoService.getOSJson(id);
+        if (json == null) {
+            return ResponseEntity.ok().build();
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json);
     }
     
     @GetMapping(path = "/os")
@@ -35,6 +47,12 @@ public class OrdemServicoController {
         return ordemServicoService.listarOS();
     }
     
+    // Sincronização incremental: /os/mudancas?desde=<ate da resposta anterior> (0 = tudo)
+    @GetMapping(path = "/os/mudancas")
+    public Mudancas<OrdemServico> mudancasOS(@RequestParam(defaultValue = "0") long desde) {
+        return ordemServicoService.mudancasOS(desde);
+    }
+    
     // --- NOVO ENDPOINT DE BUSCA AVANÇADA ---
     @GetMapping("/busca")
     public ResponseEntity<List<OrdemServico>> buscarOS(
@@ -66,6 +84,30 @@ public class OrdemServicoController {
         return ResponseEntity.ok(resultados);
     }
     
+    // --- FICHAS PARA IMPRESSÃO ---
+    // /os/fichas?data=2025-03-10 -> ordens em FILA com entrega no dia (padrão: hoje)
+    // /os/fichas?ids=10,11,12    -> ordens escolhidas, em qualquer status
+    @GetMapping(path = "/os/fichas")
+    public ResponseEntity<StreamingResponseBody> imprimirFichas(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data,
+            @RequestParam(required = false) List<Integer> ids
+    ) {
+        List<OrdemServico> ordens;
+        String titulo;
+        if (ids != null && !ids.isEmpty()) {
+            ordens = fichaOSService.buscarFichas(ids);
+            titulo = "Fichas de OS";
+        } else {
+            LocalDate dia = data != null ? data : LocalDate.now();
+            ordens = fichaOSService.buscarFichasDoDia(dia);
+            titulo = "Fichas de OS - entrega " + dia;
+        }
+        StreamingResponseBody corpo = saida -> fichaOSService.renderizar(ordens, titulo, saida);
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_HTML, java.nio.charset.StandardCharsets.UTF_8))
+                .body(corpo);
+    }
+    
     @PostMapping(path = "/os")
     public OrdemServico postOS(@RequestBody OrdemServico os){
         return ordemServicoService.postOS(os);
@@ -0,0 +1,38 @@
+package villares_metals.sistema_web.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import villares_metals.sistema_web.domain.HistoricoStatusOS;
+import villares_metals.sistema_web.dto.PercentisPrazo;
+import villares_metals.sistema_web.service.HistoricoStatusService;
+
+@RestController
+public class PrazoOSController {
+    
+    private HistoricoStatusService historicoStatusService;
+    
+    public PrazoOSController(HistoricoStatusService historicoStatusService) {
+        this.historicoStatusService = historicoStatusService;
+    }
+    
+    // Ex: /os/prazos?inicio=2025-01-01&fim=2025-06-30&idProduto=12 (sem idProduto = todos os produtos)
+    @GetMapping(path = "/os/prazos")
+    public List<PercentisPrazo> consultarPrazos(
+            @RequestParam(defaultValue = "0") Integer idProduto,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim
+    ) {
+        return historicoStatusService.percentis(idProduto, inicio, fim);
+    }
+    
+    // Mudanças de status de uma OS, da mais antiga para a mais recente
+    @GetMapping(path = "/os/{id}/historico")
+    public List<HistoricoStatusOS> historicoOS(@PathVariable("id") Integer id) {
+        return historicoStatusService.historicoDaOS(id);
+    }
+}
@@ -8,8 +8,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import villares_metals.sistema_web.domain.Produto;
+import villares_metals.sistema_web.dto.Mudancas;
+import villares_metals.sistema_web.dto.SugestaoProduto;
 import villares_metals.sistema_web.service.ProdutoService;
 
 @RestController
@@ -26,11 +29,26 @@ public class ProdutoController {
         return produtoService.getProduto(id);
     }
     
+    // Typeahead do seletor: ex. /produtos/sugestoes?q=aco&limite=10
+    @GetMapping(path = "/produtos/sugestoes")
+    public List<SugestaoProduto> sugerirProdutos(
+            @RequestParam("q") String termo,
+            @RequestParam(defaultValue = "10") int limite
+    ) {
+        return produtoService.sugerirProdutos(termo, Math.max(1, Math.min(limite, 50)));
+    }
+    
     @GetMapping(path = "/produtos")
     public List<Produto> listarProdutos() {
         return produtoService.listarProdutos();
     }
     
+    // Sincronização incremental: /produtos/mudancas?desde=<ate da resposta anterior> (0 = tudo)
+    @GetMapping(path = "/produtos/mudancas")
+    public Mudancas<Produto> mudancasProdutos(@RequestParam(defaultValue = "0") long desde) {
+        return produtoService.mudancasProdutos(desde);
+    }
+    
     @PostMapping(path = "/produtos")
     public Produto postProduto(@RequestBody Produto produto){
         return produtoService.postProduto(produto);
@@ -0,0 +1,44 @@
+package villares_metals.sistema_web.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import villares_metals.sistema_web.domain.ResumoOS;
+import villares_metals.sistema_web.domain.enums.DimensaoResumo;
+import villares_metals.sistema_web.domain.enums.Granularidade;
+import villares_metals.sistema_web.service.ResumoOSService;
+
+@RestController
+public class ResumoOSController {
+    
+    private ResumoOSService resumoOSService;
+    
+    public ResumoOSController(ResumoOSService resumoOSService) {
+        this.resumoOSService = resumoOSService;
+    }
+    
+    // Ex: /os/resumo?granularidade=MES&dimensao=ENTREGA&inicio=2025-01-01&fim=2025-12-31
+    // Até 62 períodos por consulta; acima disso responde 400. Sem granularidade, usa a menor
+    // que cabe no intervalo (campo granularidade de cada linha)
+    @GetMapping(path = "/os/resumo")
+    public List<ResumoOS> consultarResumo(
+            @RequestParam(required = false) Granularidade granularidade,
+            @RequestParam(defaultValue = "APROVACAO") DimensaoResumo dimensao,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim
+    ) {
+        return resumoOSService.consultar(granularidade, dimensao, inicio, fim);
+    }
+    
+    // Recalcula os resumos a partir das ordens gravadas (carga inicial ou correção)
+    @PostMapping(path = "/os/resumo/reconstruir")
+    public ResponseEntity<Void> reconstruirResumo() {
+        resumoOSService.reconstruir();
+        return ResponseEntity.noContent().build();
+    }
+}
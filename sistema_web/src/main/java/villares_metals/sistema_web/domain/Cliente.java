@@ -1,5 +1,6 @@
 package villares_metals.sistema_web.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -15,7 +16,9 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import jakarta.persistence.Table;
 import java.io.Serializable;
+import java.time.LocalDateTime;
 import java.util.List;
+import org.hibernate.annotations.SQLRestriction;
 
 
 @Entity
@@ -24,6 +27,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "dados_cliente")
+@SQLRestriction("excluido_em is null") // clientes excluídos logicamente ficam fora das consultas
 public class Cliente implements Serializable{
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -40,4 +44,9 @@ public class Cliente implements Serializable{
     @OneToMany(mappedBy = "cliente", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonIgnoreProperties("cliente")
     private List<OrdemServico> ordensServico;
+    @Column(name = "excluido_em")
+    @JsonIgnore
+    private LocalDateTime excluidoEm;
+    @Column(name = "seq_mudanca")
+    private Long seqMudanca; // ver MudancaService
 }
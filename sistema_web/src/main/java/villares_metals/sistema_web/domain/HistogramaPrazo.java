@@ -0,0 +1,46 @@
+package villares_metals.sistema_web.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.io.Serializable;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import villares_metals.sistema_web.domain.enums.MetricaPrazo;
+
+// Quantidade de medições de uma métrica que caíram numa faixa do histograma,
+// por mês e produto (idProduto 0 = todos). Mantido pelo HistoricoStatusService.
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "histograma_prazo", uniqueConstraints = @UniqueConstraint(
+        name = "uk_histograma_prazo",
+        columnNames = {"metrica", "id_produto", "mes", "faixa"}))
+public class HistogramaPrazo implements Serializable{
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_histograma")
+    private Long idHistograma;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "metrica")
+    private MetricaPrazo metrica;
+    @Column(name = "mes")
+    private LocalDate mes;
+    @Column(name = "id_produto")
+    private Integer idProduto;
+    @Column(name = "faixa")
+    private int faixa;
+    @Column(name = "quantidade")
+    private long quantidade;
+}
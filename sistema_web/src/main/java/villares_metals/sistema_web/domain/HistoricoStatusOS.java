@@ -0,0 +1,41 @@
+package villares_metals.sistema_web.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import villares_metals.sistema_web.domain.enums.StatusProducao;
+
+// Uma mudança de status de produção de uma OS (status_anterior null = OS criada)
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "historico_status_os")
+public class HistoricoStatusOS implements Serializable{
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_historico")
+    private Long idHistorico;
+    @Column(name = "n_os")
+    private Integer idOS;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status_anterior")
+    private StatusProducao statusAnterior;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status_novo")
+    private StatusProducao statusNovo;
+    @Column(name = "mudado_em")
+    private LocalDateTime mudadoEm;
+}
@@ -1,5 +1,6 @@
 package villares_metals.sistema_web.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.CascadeType;
@@ -23,6 +24,7 @@ import java.io.Serializable;
 import java.time.LocalDate; 
 import java.time.LocalDateTime;
 import java.util.List;
+import org.hibernate.annotations.SQLRestriction;
 import villares_metals.sistema_web.domain.enums.StatusProducao;
 
 @Entity
@@ -31,6 +33,7 @@ import villares_metals.sistema_web.domain.enums.StatusProducao;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "ordem_servico")
+@SQLRestriction("excluido_em is null") // ordens excluídas logicamente ficam fora das consultas
 public class OrdemServico implements Serializable{
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -57,5 +60,10 @@ public class OrdemServico implements Serializable{
     @OneToMany(mappedBy = "ordemServico", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
     @JsonManagedReference // Indica ao Jackson que este lado deve ser serializado
     private List<OrdenaProduto> itensDoPedido; // Nome do campo usado no Service/Controller
+    @Column(name = "excluido_em")
+    @JsonIgnore
+    private LocalDateTime excluidoEm;
+    @Column(name = "seq_mudanca")
+    private Long seqMudanca; // ver MudancaService
 
 }
\ No newline at end of file
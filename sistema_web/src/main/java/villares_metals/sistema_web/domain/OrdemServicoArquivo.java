@@ -0,0 +1,85 @@
+package villares_metals.sistema_web.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.annotations.SQLRestriction;
+import villares_metals.sistema_web.domain.enums.StatusProducao;
+
+// Cópia de uma OrdemServico concluída (PRONTO e paga) movida para a tabela de arquivo.
+// As colunas são as mesmas de ordem_servico; o n_os é preservado.
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "ordem_servico_arquivo")
+@SQLRestriction("excluido_em is null")
+public class OrdemServicoArquivo implements Serializable{
+    @Id
+    @Column(name = "n_os")
+    private Integer idOS;
+    @Column(name = "descricao_pedido")
+    private String descricao;
+    @Column(name = "data_entrega")
+    private LocalDate dataEntrega;
+    @Column(name = "data_aprovacao")
+    private LocalDateTime dataAprovacao;
+    @Column(name = "status_pagamento")
+    private Boolean statusPagamento;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status_producao")
+    private StatusProducao statusProducao;
+    @Column(name = "valor_servico")
+    private double valorServico;
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "id_cliente")
+    private Cliente cliente;
+    // carregados por join fetch (findArquivadaById, BuscaAvancadaRepository.buscarArquivo)
+    @OneToMany(mappedBy = "ordemServico", fetch = FetchType.LAZY)
+    private List<OrdenaProdutoArquivo> itensDoPedido;
+    @Column(name = "excluido_em")
+    private LocalDateTime excluidoEm;
+
+    // Converte para OrdemServico (não gerenciada) para devolver no mesmo formato das ordens ativas
+    public OrdemServico paraOrdemServico() {
+        OrdemServico os = new OrdemServico();
+        os.setIdOS(idOS);
+        os.setDescricao(descricao);
+        os.setDataEntrega(dataEntrega);
+        os.setDataAprovacao(dataAprovacao);
+        os.setStatusPagamento(statusPagamento);
+        os.setStatusProducao(statusProducao);
+        os.setValorServico(valorServico);
+        os.setCliente(cliente);
+
+        List<OrdenaProduto> itens = new ArrayList<>();
+        if (itensDoPedido != null) {
+            for (OrdenaProdutoArquivo arquivado : itensDoPedido) {
+                OrdenaProduto item = new OrdenaProduto();
+                item.getId().setOs(idOS);
+                item.getId().setProduto(arquivado.getId().getProduto());
+                item.setOrdemServico(os);
+                item.setProduto(arquivado.getProduto());
+                item.setQuantidade(arquivado.getQuantidade());
+                itens.add(item);
+            }
+        }
+        os.setItensDoPedido(itens);
+        return os;
+    }
+}
@@ -0,0 +1,30 @@
+package villares_metals.sistema_web.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import lombok.Getter;
+import lombok.Setter;
+import villares_metals.sistema_web.domain.ids.OrdenaProdutoId;
+
+// Item de uma OrdemServicoArquivo (tabela ordena_produto_arquivo)
+@Entity
+@Getter
+@Setter
+@Table(name = "ordena_produto_arquivo")
+public class OrdenaProdutoArquivo implements Serializable{
+    @EmbeddedId
+    private OrdenaProdutoId id = new OrdenaProdutoId();
+
+    @ManyToOne
+    @MapsId("os")
+    @JoinColumn(name = "id_os")
+    private OrdemServicoArquivo ordemServico;
+
+    @ManyToOne
+    @MapsId("produto")
+    @JoinColumn(name = "id_produto")
+    private Produto produto;
+
+    @Column(name = "quantidade", nullable = false)
+    private Integer quantidade;
+}
@@ -28,4 +28,6 @@ public class Produto implements Serializable{
     private String pesoEntrada;
     @Column(name = "peso_saida")
     private String pesoSaida;
+    @Column(name = "seq_mudanca")
+    private Long seqMudanca; // ver MudancaService
 }
@@ -0,0 +1,37 @@
+package villares_metals.sistema_web.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Registro de que uma linha saiu da listagem de um recurso (excluída ou arquivada),
+// para os clientes da sincronização incremental removerem da lista local
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "registro_exclusao")
+public class RegistroExclusao implements Serializable{
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_registro_exclusao")
+    private Long idRegistroExclusao;
+    @Column(name = "recurso")
+    private String recurso;
+    @Column(name = "id_excluido")
+    private Integer idExcluido;
+    @Column(name = "seq_mudanca")
+    private long seqMudanca;
+    @Column(name = "excluido_em")
+    private LocalDateTime excluidoEm;
+}
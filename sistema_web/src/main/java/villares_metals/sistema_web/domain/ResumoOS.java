@@ -0,0 +1,54 @@
+package villares_metals.sistema_web.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDate;
+import villares_metals.sistema_web.domain.enums.DimensaoResumo;
+import villares_metals.sistema_web.domain.enums.Granularidade;
+import villares_metals.sistema_web.domain.enums.StatusProducao;
+
+// Total de ordens e valor por período, dimensão (data usada) e status.
+// Mantido de forma incremental pelo ResumoOSService a cada gravação de OS.
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "resumo_os", uniqueConstraints = @UniqueConstraint(
+        name = "uk_resumo_os",
+        columnNames = {"granularidade", "dimensao", "inicio_periodo", "status_producao", "status_pagamento"}))
+public class ResumoOS implements Serializable{
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_resumo")
+    private Long idResumo;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularidade")
+    private Granularidade granularidade;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimensao")
+    private DimensaoResumo dimensao;
+    @Column(name = "inicio_periodo")
+    private LocalDate inicioPeriodo;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status_producao")
+    private StatusProducao statusProducao;
+    @Column(name = "status_pagamento")
+    private Boolean statusPagamento;
+    @Column(name = "quantidade")
+    private long quantidade;
+    @Column(name = "valor_total")
+    private double valorTotal;
+}
@@ -0,0 +1,26 @@
+package villares_metals.sistema_web.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Último número de mudança distribuído para um recurso (ver MudancaService)
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "sequencia_mudanca")
+public class SequenciaMudanca implements Serializable{
+    @Id
+    @Column(name = "recurso")
+    private String recurso;
+    @Column(name = "valor")
+    private long valor;
+}
@@ -0,0 +1,7 @@
+package villares_metals.sistema_web.domain.enums;
+
+// Data da OS usada para posicionar a ordem no período do resumo
+public enum DimensaoResumo {
+    APROVACAO, // dataAprovacao
+    ENTREGA;   // dataEntrega
+}
@@ -0,0 +1,39 @@
+package villares_metals.sistema_web.domain.enums;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+// Tamanho do período (bucket) dos resumos de ordens de serviço
+public enum Granularidade {
+    DIA, 
+    SEMANA, 
+    MES;
+
+    // Primeiro dia do período que contém a data (semanas começam na segunda-feira)
+    public LocalDate inicioPeriodo(LocalDate data) {
+        switch (this) {
+            case SEMANA:
+                return data.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MES:
+                return data.withDayOfMonth(1);
+            default:
+                return data;
+        }
+    }
+
+    // Quantidade de períodos que o intervalo (inclusivo) ocupa nesta granularidade
+    public long periodos(LocalDate inicio, LocalDate fim) {
+        LocalDate primeiro = inicioPeriodo(inicio);
+        LocalDate ultimo = inicioPeriodo(fim);
+        switch (this) {
+            case SEMANA:
+                return ChronoUnit.WEEKS.between(primeiro, ultimo) + 1;
+            case MES:
+                return ChronoUnit.MONTHS.between(primeiro, ultimo) + 1;
+            default:
+                return ChronoUnit.DAYS.between(primeiro, ultimo) + 1;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package villares_metals.sistema_web.domain.enums;
+
+// Prazos medidos a partir do histórico de status de produção
+public enum MetricaPrazo {
+    ESPERA_FILA,        // tempo em FILA até sair dela
+    TEMPO_PRODUCAO,     // tempo em PRODUCAO até sair dela
+    APROVACAO_A_PRONTO; // dataAprovacao até chegar em PRONTO
+}
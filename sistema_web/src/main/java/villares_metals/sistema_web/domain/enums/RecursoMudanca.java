@@ -0,0 +1,18 @@
+package villares_metals.sistema_web.domain.enums;
+
+// Recursos com sincronização incremental; o código é a chave em sequencia_mudanca/registro_exclusao
+public enum RecursoMudanca {
+    OS("os"),
+    CLIENTE("cliente"),
+    PRODUTO("produto");
+
+    private final String codigo;
+
+    RecursoMudanca(String codigo) {
+        this.codigo = codigo;
+    }
+
+    public String getCodigo() {
+        return codigo;
+    }
+}
@@ -0,0 +1,28 @@
+package villares_metals.sistema_web.dto;
+
+import java.time.LocalDate;
+import villares_metals.sistema_web.domain.OrdemServico;
+import villares_metals.sistema_web.domain.enums.StatusProducao;
+
+// O que uma OS (ou um grupo de OS com as mesmas datas e status) soma nos resumos.
+// Usado como projeção nas consultas JPQL (select new ...), por isso os tipos são wrappers.
+public record ContribuicaoResumo(
+        LocalDate dataAprovacao,
+        LocalDate dataEntrega,
+        StatusProducao statusProducao,
+        Boolean statusPagamento,
+        Long quantidade,
+        Double valor
+) {
+
+    public static ContribuicaoResumo de(OrdemServico os) {
+        return new ContribuicaoResumo(
+                os.getDataAprovacao() != null ? os.getDataAprovacao().toLocalDate() : null,
+                os.getDataEntrega(),
+                os.getStatusProducao(),
+                os.getStatusPagamento(),
+                1L,
+                Math.round(os.getValorServico() * 100) / 100.0 // valor_servico é DECIMAL(10,2)
+        );
+    }
+}
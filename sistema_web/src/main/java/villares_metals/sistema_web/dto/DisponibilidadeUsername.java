@@ -0,0 +1,7 @@
+package villares_metals.sistema_web.dto;
+
+// Resposta de /funcionarios/username/{user}
+public record DisponibilidadeUsername(
+        String username,
+        boolean disponivel
+) {}
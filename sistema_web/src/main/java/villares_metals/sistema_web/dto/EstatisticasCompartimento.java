@@ -0,0 +1,15 @@
+package villares_metals.sistema_web.dto;
+
+// Ocupação e rejeições de um compartimento (ver Compartimento), desde a subida da aplicação
+public record EstatisticasCompartimento(
+        String nome,
+        int limite,
+        int maximoFila,
+        int ativas,
+        int naFila,
+        int picoAtivas,
+        long aceitas,
+        long rejeitadasFilaCheia,
+        long rejeitadasTempo,
+        double esperaMediaMs
+) {}
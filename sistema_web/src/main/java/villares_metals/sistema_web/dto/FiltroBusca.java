@@ -0,0 +1,66 @@
+package villares_metals.sistema_web.dto;
+
+import java.time.LocalDate;
+import villares_metals.sistema_web.domain.enums.StatusProducao;
+
+// Filtros da busca avançada (/busca). Campo null = filtro ausente.
+// A máscara diz quais filtros estão presentes e escolhe a variante da consulta.
+public record FiltroBusca(
+        LocalDate dataInicio,
+        LocalDate dataFim,
+        Double valorMin,
+        Double valorMax,
+        Boolean statusPagamento,
+        StatusProducao statusProducao,
+        String descricao
+) {
+
+    public static final int DATA_INICIO = 1;
+    public static final int DATA_FIM = 1 << 1;
+    public static final int VALOR_MIN = 1 << 2;
+    public static final int VALOR_MAX = 1 << 3;
+    public static final int STATUS_PAGAMENTO = 1 << 4;
+    public static final int STATUS_PRODUCAO = 1 << 5;
+    public static final int DESCRICAO = 1 << 6;
+
+    // Monta a partir dos parâmetros da requisição: status inválido e descrição vazia são ignorados
+    public static FiltroBusca de(LocalDate dataInicio, LocalDate dataFim, Double valorMin, Double valorMax,
+            Boolean statusPagamento, String statusProducao, String descricao) {
+        StatusProducao status = null;
+        if (statusProducao != null && !statusProducao.isEmpty()) {
+            try {
+                status = StatusProducao.valueOf(statusProducao.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                // Ignora status inválido
+            }
+        }
+        return new FiltroBusca(dataInicio, dataFim, valorMin, valorMax, statusPagamento, status,
+                descricao != null && !descricao.isEmpty() ? descricao : null);
+    }
+
+    public int mascara() {
+        int m = 0;
+        if (dataInicio != null) {
+            m |= DATA_INICIO;
+        }
+        if (dataFim != null) {
+            m |= DATA_FIM;
+        }
+        if (valorMin != null) {
+            m |= VALOR_MIN;
+        }
+        if (valorMax != null) {
+            m |= VALOR_MAX;
+        }
+        if (statusPagamento != null) {
+            m |= STATUS_PAGAMENTO;
+        }
+        if (statusProducao != null) {
+            m |= STATUS_PRODUCAO;
+        }
+        if (descricao != null) {
+            m |= DESCRICAO;
+        }
+        return m;
+    }
+}
@@ -0,0 +1,11 @@
+package villares_metals.sistema_web.dto;
+
+import java.util.List;
+
+// Resposta de GET /{recurso}/mudancas?desde=: linhas criadas ou alteradas e ids que saíram
+// da listagem depois de "desde". O cliente guarda "ate" e manda na próxima chamada.
+public record Mudancas<T>(
+        long ate,
+        List<T> alterados,
+        List<Integer> excluidos
+) {}
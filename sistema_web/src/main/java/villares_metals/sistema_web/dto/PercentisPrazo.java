@@ -0,0 +1,16 @@
+package villares_metals.sistema_web.dto;
+
+import java.time.LocalDate;
+import villares_metals.sistema_web.domain.enums.MetricaPrazo;
+
+// Percentis de uma métrica de prazo, em horas. mes null = período inteiro consultado
+public record PercentisPrazo(
+        MetricaPrazo metrica,
+        LocalDate mes,
+        Integer idProduto,
+        long quantidade,
+        double p50Horas,
+        double p90Horas,
+        double p95Horas,
+        double p99Horas
+) {}
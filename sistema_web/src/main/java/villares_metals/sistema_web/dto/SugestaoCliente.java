@@ -0,0 +1,9 @@
+package villares_metals.sistema_web.dto;
+
+// Dados mínimos de um cliente para o seletor (typeahead); mesmos nomes de campo de Cliente
+public record SugestaoCliente(
+        Integer idCliente,
+        String nomeCliente,
+        String cnpjCliente,
+        String telefoneCliente
+) {}
@@ -0,0 +1,7 @@
+package villares_metals.sistema_web.dto;
+
+// Dados mínimos de um produto para o seletor (typeahead); mesmos nomes de campo de Produto
+public record SugestaoProduto(
+        Integer idProduto,
+        String nomeProduto
+) {}
@@ -0,0 +1,96 @@
+package villares_metals.sistema_web.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Repository;
+import villares_metals.sistema_web.domain.OrdemServico;
+import villares_metals.sistema_web.domain.OrdemServicoArquivo;
+import villares_metals.sistema_web.dto.FiltroBusca;
+
+// Busca avançada com JPQL fixo por combinação de filtros (no máximo 128 variantes por entidade).
+// O texto de cada variante é montado uma vez e reaproveitado, então o Hibernate acha o plano
+// no cache de consultas e o driver reaproveita o prepared statement (cachePrepStmts do MySQL).
+// Cliente e itens vêm no mesmo SELECT (join fetch), sem uma consulta extra por OS.
+@Repository
+public class BuscaAvancadaRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Map<Integer, String> variantesAtivas = new ConcurrentHashMap<>();
+    private final Map<Integer, String> variantesArquivo = new ConcurrentHashMap<>();
+
+    public List<OrdemServico> buscar(FiltroBusca filtro) {
+        String jpql = variantesAtivas.computeIfAbsent(filtro.mascara(), m -> montar("OrdemServico", m));
+        return parametros(entityManager.createQuery(jpql, OrdemServico.class), filtro).getResultList();
+    }
+
+    public List<OrdemServicoArquivo> buscarArquivo(FiltroBusca filtro) {
+        String jpql = variantesArquivo.computeIfAbsent(filtro.mascara(), m -> montar("OrdemServicoArquivo", m));
+        return parametros(entityManager.createQuery(jpql, OrdemServicoArquivo.class), filtro).getResultList();
+    }
+
+    private static String montar(String entidade, int mascara) {
+        StringBuilder jpql = new StringBuilder("select os from ").append(entidade).append(" os")
+                .append(" left join fetch os.cliente")
+                .append(" left join fetch os.itensDoPedido i left join fetch i.produto");
+        String ligacao = " where ";
+        if ((mascara & FiltroBusca.DATA_INICIO) != 0) {
+            jpql.append(ligacao).append("os.dataEntrega >= :dataInicio");
+            ligacao = " and ";
+        }
+        if ((mascara & FiltroBusca.DATA_FIM) != 0) {
+            jpql.append(ligacao).append("os.dataEntrega <= :dataFim");
+            ligacao = " and ";
+        }
+        if ((mascara & FiltroBusca.VALOR_MIN) != 0) {
+            jpql.append(ligacao).append("os.valorServico >= :valorMin");
+            ligacao = " and ";
+        }
+        if ((mascara & FiltroBusca.VALOR_MAX) != 0) {
+            jpql.append(ligacao).append("os.valorServico <= :valorMax");
+            ligacao = " and ";
+        }
+        if ((mascara & FiltroBusca.STATUS_PAGAMENTO) != 0) {
+            jpql.append(ligacao).append("os.statusPagamento = :statusPagamento");
+            ligacao = " and ";
+        }
+        if ((mascara & FiltroBusca.STATUS_PRODUCAO) != 0) {
+            jpql.append(ligacao).append("os.statusProducao = :statusProducao");
+            ligacao = " and ";
+        }
+        if ((mascara & FiltroBusca.DESCRICAO) != 0) {
+            jpql.append(ligacao).append("lower(os.descricao) like :descricao");
+        }
+        return jpql.toString();
+    }
+
+    private static <T> TypedQuery<T> parametros(TypedQuery<T> query, FiltroBusca filtro) {
+        if (filtro.dataInicio() != null) {
+            query.setParameter("dataInicio", filtro.dataInicio());
+        }
+        if (filtro.dataFim() != null) {
+            query.setParameter("dataFim", filtro.dataFim());
+        }
+        if (filtro.valorMin() != null) {
+            query.setParameter("valorMin", filtro.valorMin());
+        }
+        if (filtro.valorMax() != null) {
+            query.setParameter("valorMax", filtro.valorMax());
+        }
+        if (filtro.statusPagamento() != null) {
+            query.setParameter("statusPagamento", filtro.statusPagamento());
+        }
+        if (filtro.statusProducao() != null) {
+            query.setParameter("statusProducao", filtro.statusProducao());
+        }
+        if (filtro.descricao() != null) {
+            query.setParameter("descricao", "%" + filtro.descricao().toLowerCase() + "%");
+        }
+        return query;
+    }
+}
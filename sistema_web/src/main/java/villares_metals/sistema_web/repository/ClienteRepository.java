@@ -1,13 +1,38 @@
 package villares_metals.sistema_web.repository;
 
+import java.util.List;
+import java.time.LocalDateTime;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import villares_metals.sistema_web.domain.Cliente;
+import villares_metals.sistema_web.dto.SugestaoCliente;
 
 @Repository
 public interface ClienteRepository extends JpaRepository<Cliente, Integer>{
     @Query("select c from Cliente c where c.idCliente = :id")
     public Cliente findClienteById(@Param("id") Integer idCliente);
+
+    // Carga do índice de sugestões (só as colunas usadas no seletor)
+    @Query("select new villares_metals.sistema_web.dto.SugestaoCliente(c.idCliente, c.nomeCliente, c.cnpjCliente, c.telefoneCliente) from Cliente c")
+    public List<SugestaoCliente> findSugestoes();
+
+    // Sincronização incremental (ver MudancaService)
+    @Query("select c from Cliente c where c.seqMudanca > :desde order by c.seqMudanca")
+    public List<Cliente> findMudancasDesde(@Param("desde") long desde);
+
+    // --- EXCLUSÃO EM CONJUNTO (ver ExclusaoService) ---
+
+    @Query(value = "SELECT id_cliente FROM dados_cliente WHERE id_cliente = :id FOR UPDATE", nativeQuery = true)
+    public List<Integer> travarCliente(@Param("id") Integer idCliente);
+
+    @Modifying
+    @Query(value = "DELETE FROM dados_cliente WHERE id_cliente = :id", nativeQuery = true)
+    public int excluirCliente(@Param("id") Integer idCliente);
+
+    @Modifying
+    @Query(value = "UPDATE dados_cliente SET excluido_em = :agora WHERE id_cliente = :id AND excluido_em IS NULL", nativeQuery = true)
+    public int marcarExcluido(@Param("id") Integer idCliente, @Param("agora") LocalDateTime agora);
 }
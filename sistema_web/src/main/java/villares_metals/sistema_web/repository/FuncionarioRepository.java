@@ -1,5 +1,6 @@
 package villares_metals.sistema_web.repository;
 
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,5 +14,12 @@ public interface FuncionarioRepository extends JpaRepository<Funcionario, Intege
     
     @Query("select f from Funcionario f where f.userFuncionario = :username")
     public Funcionario findFuncionarioByUser(@Param("username") String userFuncionario);
+    
+    @Query("select count(f) > 0 from Funcionario f where f.userFuncionario = :username")
+    public boolean existsByUser(@Param("username") String userFuncionario);
+    
+    // Carga do filtro de disponibilidade de username
+    @Query("select f.userFuncionario from Funcionario f")
+    public List<String> findUsernames();
 }
 
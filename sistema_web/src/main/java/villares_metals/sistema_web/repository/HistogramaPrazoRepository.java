@@ -0,0 +1,32 @@
+package villares_metals.sistema_web.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import villares_metals.sistema_web.domain.HistogramaPrazo;
+
+@Repository
+public interface HistogramaPrazoRepository extends JpaRepository<HistogramaPrazo, Long>{
+
+    @Query("select h from HistogramaPrazo h where h.idProduto = :idProduto"
+            + " and h.mes between :inicio and :fim order by h.metrica, h.mes, h.faixa")
+    public List<HistogramaPrazo> findPeriodo(
+            @Param("idProduto") Integer idProduto,
+            @Param("inicio") LocalDate inicio,
+            @Param("fim") LocalDate fim);
+
+    // Conta uma medição na faixa, criando a linha se não existir
+    @Modifying
+    @Query(value = "INSERT INTO histograma_prazo (metrica, mes, id_produto, faixa, quantidade)"
+            + " VALUES (:metrica, :mes, :idProduto, :faixa, 1)"
+            + " ON DUPLICATE KEY UPDATE quantidade = quantidade + 1", nativeQuery = true)
+    public int contar(
+            @Param("metrica") String metrica,
+            @Param("mes") LocalDate mes,
+            @Param("idProduto") Integer idProduto,
+            @Param("faixa") int faixa);
+}
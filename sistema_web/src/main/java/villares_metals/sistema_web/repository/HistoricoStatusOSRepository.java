@@ -0,0 +1,20 @@
+package villares_metals.sistema_web.repository;
+
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import villares_metals.sistema_web.domain.HistoricoStatusOS;
+
+@Repository
+public interface HistoricoStatusOSRepository extends JpaRepository<HistoricoStatusOS, Long>{
+
+    // Última mudança registrada da OS (usa idx_historico_os)
+    @Query(value = "SELECT * FROM historico_status_os WHERE n_os = :id"
+            + " ORDER BY mudado_em DESC, id_historico DESC LIMIT 1", nativeQuery = true)
+    public HistoricoStatusOS findUltimaMudanca(@Param("id") Integer idOS);
+
+    @Query("select h from HistoricoStatusOS h where h.idOS = :id order by h.mudadoEm, h.idHistorico")
+    public List<HistoricoStatusOS> findHistoricoDaOS(@Param("id") Integer idOS);
+}
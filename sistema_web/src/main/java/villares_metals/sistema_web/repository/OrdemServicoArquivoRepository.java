@@ -0,0 +1,108 @@
+package villares_metals.sistema_web.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import villares_metals.sistema_web.domain.OrdemServicoArquivo;
+import villares_metals.sistema_web.dto.ContribuicaoResumo;
+
+@Repository
+public interface OrdemServicoArquivoRepository extends JpaRepository<OrdemServicoArquivo, Integer>, JpaSpecificationExecutor<OrdemServicoArquivo>{
+
+    // OS arquivada com cliente, itens e produtos numa única consulta (fallback do getOS)
+    @Query("select a from OrdemServicoArquivo a left join fetch a.cliente"
+            + " left join fetch a.itensDoPedido i left join fetch i.produto where a.idOS = :id")
+    public OrdemServicoArquivo findArquivadaById(@Param("id") Integer idOS);
+
+    // Itens arquivados que usam o produto (a FK impede excluir o produto)
+    @Query(value = "SELECT COUNT(*) FROM ordena_produto_arquivo WHERE id_produto = :id", nativeQuery = true)
+    public long contarItensDoProduto(@Param("id") Integer idProduto);
+
+    // Maior data de entrega já arquivada (usa o índice de data_entrega do arquivo)
+    @Query("select max(a.dataEntrega) from OrdemServicoArquivo a")
+    public LocalDate findMaiorDataEntrega();
+
+    // Ordens arquivadas agrupadas por dia, usado para reconstruir os resumos
+    @Query("select new villares_metals.sistema_web.dto.ContribuicaoResumo("
+            + "extract(date from a.dataAprovacao), a.dataEntrega, a.statusProducao, a.statusPagamento, count(a), sum(a.valorServico))"
+            + " from OrdemServicoArquivo a"
+            + " group by extract(date from a.dataAprovacao), a.dataEntrega, a.statusProducao, a.statusPagamento")
+    public List<ContribuicaoResumo> findContribuicoesResumoPorDia();
+
+    @Query("select new villares_metals.sistema_web.dto.ContribuicaoResumo("
+            + "extract(date from a.dataAprovacao), a.dataEntrega, a.statusProducao, a.statusPagamento, count(a), sum(a.valorServico))"
+            + " from OrdemServicoArquivo a where a.idOS = :id"
+            + " group by extract(date from a.dataAprovacao), a.dataEntrega, a.statusProducao, a.statusPagamento")
+    public List<ContribuicaoResumo> findContribuicoesResumoDaOS(@Param("id") Integer idOS);
+
+    @Query("select new villares_metals.sistema_web.dto.ContribuicaoResumo("
+            + "extract(date from a.dataAprovacao), a.dataEntrega, a.statusProducao, a.statusPagamento, count(a), sum(a.valorServico))"
+            + " from OrdemServicoArquivo a where a.cliente.idCliente = :id"
+            + " group by extract(date from a.dataAprovacao), a.dataEntrega, a.statusProducao, a.statusPagamento")
+    public List<ContribuicaoResumo> findContribuicoesResumoDoCliente(@Param("id") Integer idCliente);
+
+    // Trava as ordens arquivadas do cliente junto com as ativas (exclusão do cliente)
+    @Query(value = "SELECT n_os FROM ordem_servico_arquivo WHERE id_cliente = :id FOR UPDATE", nativeQuery = true)
+    public List<Integer> travarOrdensDoCliente(@Param("id") Integer idCliente);
+
+    // --- MOVIMENTAÇÃO DAS TABELAS ATIVAS PARA O ARQUIVO (executadas em lotes) ---
+
+    @Query(value = "SELECT n_os FROM ordem_servico"
+            + " WHERE status_producao = 'PRONTO' AND status_pagamento = TRUE AND data_entrega < :limite"
+            + " AND excluido_em IS NULL"
+            + " ORDER BY n_os LIMIT :quantidade", nativeQuery = true)
+    public List<Integer> findIdsArquivaveis(@Param("limite") LocalDate limite, @Param("quantidade") int quantidade);
+
+    @Modifying
+    @Query(value = "INSERT INTO ordem_servico_arquivo"
+            + " (n_os, data_entrega, data_aprovacao, status_pagamento, status_producao, valor_servico, descricao_pedido, id_cliente)"
+            + " SELECT n_os, data_entrega, data_aprovacao, status_pagamento, status_producao, valor_servico, descricao_pedido, id_cliente"
+            + " FROM ordem_servico WHERE n_os IN (:ids)", nativeQuery = true)
+    public int copiarOrdens(@Param("ids") List<Integer> ids);
+
+    @Modifying
+    @Query(value = "INSERT INTO ordena_produto_arquivo (id_os, id_produto, quantidade)"
+            + " SELECT id_os, id_produto, quantidade FROM ordena_produto WHERE id_os IN (:ids)", nativeQuery = true)
+    public int copiarItens(@Param("ids") List<Integer> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM ordena_produto WHERE id_os IN (:ids)", nativeQuery = true)
+    public int removerItensAtivos(@Param("ids") List<Integer> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM ordem_servico WHERE n_os IN (:ids)", nativeQuery = true)
+    public int removerOrdensAtivas(@Param("ids") List<Integer> ids);
+
+    // --- EXCLUSÃO EM CONJUNTO (ver ExclusaoService) ---
+
+    @Modifying
+    @Query(value = "DELETE FROM ordena_produto_arquivo WHERE id_os = :id", nativeQuery = true)
+    public int excluirItensDaOS(@Param("id") Integer idOS);
+
+    @Modifying
+    @Query(value = "DELETE FROM ordem_servico_arquivo WHERE n_os = :id", nativeQuery = true)
+    public int excluirOS(@Param("id") Integer idOS);
+
+    @Modifying
+    @Query(value = "DELETE FROM ordena_produto_arquivo"
+            + " WHERE id_os IN (SELECT n_os FROM ordem_servico_arquivo WHERE id_cliente = :id)", nativeQuery = true)
+    public int excluirItensDoCliente(@Param("id") Integer idCliente);
+
+    @Modifying
+    @Query(value = "DELETE FROM ordem_servico_arquivo WHERE id_cliente = :id", nativeQuery = true)
+    public int excluirOrdensDoCliente(@Param("id") Integer idCliente);
+
+    @Modifying
+    @Query(value = "UPDATE ordem_servico_arquivo SET excluido_em = :agora WHERE n_os = :id AND excluido_em IS NULL", nativeQuery = true)
+    public int marcarExcluida(@Param("id") Integer idOS, @Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @Query(value = "UPDATE ordem_servico_arquivo SET excluido_em = :agora WHERE id_cliente = :id AND excluido_em IS NULL", nativeQuery = true)
+    public int marcarExcluidasDoCliente(@Param("id") Integer idCliente, @Param("agora") LocalDateTime agora);
+}
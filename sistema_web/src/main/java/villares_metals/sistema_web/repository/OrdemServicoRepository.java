@@ -1,14 +1,103 @@
 package villares_metals.sistema_web.repository;
 
+import jakarta.persistence.LockModeType;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import villares_metals.sistema_web.domain.OrdemServico;
+import villares_metals.sistema_web.domain.enums.StatusProducao;
+import villares_metals.sistema_web.dto.ContribuicaoResumo;
 
 @Repository
 public interface OrdemServicoRepository extends JpaRepository<OrdemServico, Integer>, JpaSpecificationExecutor<OrdemServico>{
     @Query("select os from OrdemServico os where os.idOS = :id")
     public OrdemServico findOSById(@Param("id") Integer idOS);
+
+    // --- FICHAS DE IMPRESSÃO: ordem, cliente, itens e produtos numa única consulta ---
+
+    @Query("select distinct os from OrdemServico os left join fetch os.cliente"
+            + " left join fetch os.itensDoPedido i left join fetch i.produto"
+            + " where os.statusProducao = :status and os.dataEntrega = :data order by os.idOS")
+    public List<OrdemServico> findFichasPorData(@Param("status") StatusProducao status, @Param("data") LocalDate dataEntrega);
+
+    @Query("select distinct os from OrdemServico os left join fetch os.cliente"
+            + " left join fetch os.itensDoPedido i left join fetch i.produto"
+            + " where os.idOS in :ids order by os.idOS")
+    public List<OrdemServico> findFichasPorIds(@Param("ids") List<Integer> ids);
+
+    // --- SINCRONIZAÇÃO INCREMENTAL (ver MudancaService) ---
+
+    @Query("select os from OrdemServico os left join fetch os.cliente"
+            + " left join fetch os.itensDoPedido i left join fetch i.produto"
+            + " where os.seqMudanca > :desde order by os.seqMudanca")
+    public List<OrdemServico> findMudancasDesde(@Param("desde") long desde);
+
+    // O cliente e os produtos vão dentro do JSON da OS: quando mudam, as ordens ligadas
+    // recebem um novo número de mudança para voltarem na próxima sincronização
+    @Modifying
+    @Query(value = "UPDATE ordem_servico SET seq_mudanca = :seq WHERE id_cliente = :id", nativeQuery = true)
+    public int marcarMudancaDoCliente(@Param("id") Integer idCliente, @Param("seq") long seq);
+
+    @Modifying
+    @Query(value = "UPDATE ordem_servico SET seq_mudanca = :seq"
+            + " WHERE n_os IN (SELECT id_os FROM ordena_produto WHERE id_produto = :id)", nativeQuery = true)
+    public int marcarMudancaDoProduto(@Param("id") Integer idProduto, @Param("seq") long seq);
+
+    // Estado atual da OS, só com os campos que entram nos resumos e no histórico de status.
+    // SELECT ... FOR UPDATE: duas gravações da mesma OS não leem o mesmo estado anterior
+    // (senão as duas retiram a mesma contribuição dos resumos e contam a mesma mudança de status)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select new villares_metals.sistema_web.dto.ContribuicaoResumo("
+            + "extract(date from os.dataAprovacao), os.dataEntrega, os.statusProducao, os.statusPagamento, 1L, os.valorServico)"
+            + " from OrdemServico os where os.idOS = :id")
+    public ContribuicaoResumo findContribuicaoResumoParaAtualizar(@Param("id") Integer idOS);
+
+    // Todas as OS agrupadas por dia, usado para reconstruir os resumos
+    @Query("select new villares_metals.sistema_web.dto.ContribuicaoResumo("
+            + "extract(date from os.dataAprovacao), os.dataEntrega, os.statusProducao, os.statusPagamento, count(os), sum(os.valorServico))"
+            + " from OrdemServico os"
+            + " group by extract(date from os.dataAprovacao), os.dataEntrega, os.statusProducao, os.statusPagamento")
+    public List<ContribuicaoResumo> findContribuicoesResumoPorDia();
+
+    // Trava as ordens do cliente antes de ler as contribuições agrupadas (exclusão do cliente)
+    @Query(value = "SELECT n_os FROM ordem_servico WHERE id_cliente = :id FOR UPDATE", nativeQuery = true)
+    public List<Integer> travarOrdensDoCliente(@Param("id") Integer idCliente);
+
+    // Trava os itens com o produto e as ordens deles antes de marcá-las (alteração do produto):
+    // nenhuma OS ganha ou perde o produto entre o lock e o UPDATE
+    @Query(value = "SELECT os.n_os FROM ordena_produto op JOIN ordem_servico os ON os.n_os = op.id_os"
+            + " WHERE op.id_produto = :id FOR UPDATE", nativeQuery = true)
+    public List<Integer> travarOrdensDoProduto(@Param("id") Integer idProduto);
+
+    // Ordens de um cliente agrupadas por dia, para retirá-las dos resumos na exclusão
+    @Query("select new villares_metals.sistema_web.dto.ContribuicaoResumo("
+            + "extract(date from os.dataAprovacao), os.dataEntrega, os.statusProducao, os.statusPagamento, count(os), sum(os.valorServico))"
+            + " from OrdemServico os where os.cliente.idCliente = :id"
+            + " group by extract(date from os.dataAprovacao), os.dataEntrega, os.statusProducao, os.statusPagamento")
+    public List<ContribuicaoResumo> findContribuicoesResumoDoCliente(@Param("id") Integer idCliente);
+
+    // --- EXCLUSÃO EM CONJUNTO (ver ExclusaoService) ---
+
+    @Modifying
+    @Query(value = "DELETE FROM ordem_servico WHERE n_os = :id", nativeQuery = true)
+    public int excluirOS(@Param("id") Integer idOS);
+
+    @Modifying
+    @Query(value = "DELETE FROM ordem_servico WHERE id_cliente = :id", nativeQuery = true)
+    public int excluirOrdensDoCliente(@Param("id") Integer idCliente);
+
+    @Modifying
+    @Query(value = "UPDATE ordem_servico SET excluido_em = :agora WHERE n_os = :id AND excluido_em IS NULL", nativeQuery = true)
+    public int marcarExcluida(@Param("id") Integer idOS, @Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @Query(value = "UPDATE ordem_servico SET excluido_em = :agora WHERE id_cliente = :id AND excluido_em IS NULL", nativeQuery = true)
+    public int marcarExcluidasDoCliente(@Param("id") Integer idCliente, @Param("agora") LocalDateTime agora);
 }
\ No newline at end of file
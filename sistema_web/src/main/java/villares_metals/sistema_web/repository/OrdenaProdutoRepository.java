@@ -1,7 +1,11 @@
 // repository/OrdenaProdutoRepository.java
 package villares_metals.sistema_web.repository;
 
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import villares_metals.sistema_web.domain.OrdenaProduto;
 import villares_metals.sistema_web.domain.ids.OrdenaProdutoId;
@@ -9,4 +13,22 @@ import villares_metals.sistema_web.domain.ids.OrdenaProdutoId;
 @Repository
 public interface OrdenaProdutoRepository extends JpaRepository<OrdenaProduto, OrdenaProdutoId> {
     // Queries customizadas, se necessário. Ex: Listar todos os produtos de uma OS.
-}
\ No newline at end of file
+
+    @Query("select distinct op.produto.idProduto from OrdenaProduto op where op.ordemServico.idOS = :id")
+    public List<Integer> findIdsProdutosDaOS(@Param("id") Integer idOS);
+
+    // Itens ativos que usam o produto (a FK impede excluir o produto)
+    @Query(value = "SELECT COUNT(*) FROM ordena_produto WHERE id_produto = :id", nativeQuery = true)
+    public long contarItensDoProduto(@Param("id") Integer idProduto);
+
+    // --- EXCLUSÃO EM CONJUNTO (ver ExclusaoService) ---
+
+    @Modifying
+    @Query(value = "DELETE FROM ordena_produto WHERE id_os = :id", nativeQuery = true)
+    public int excluirItensDaOS(@Param("id") Integer idOS);
+
+    @Modifying
+    @Query(value = "DELETE FROM ordena_produto"
+            + " WHERE id_os IN (SELECT n_os FROM ordem_servico WHERE id_cliente = :id)", nativeQuery = true)
+    public int excluirItensDoCliente(@Param("id") Integer idCliente);
+}
@@ -1,14 +1,24 @@
 package villares_metals.sistema_web.repository;
 
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import villares_metals.sistema_web.domain.Produto;
+import villares_metals.sistema_web.dto.SugestaoProduto;
 
 @Repository
 public interface ProdutoRepository extends JpaRepository<Produto, Integer>{
     @Query("select p from Produto p where p.idProduto = :id")
     public Produto findProdutoById(@Param("id") Integer idProduto);
+
+    // Carga do índice de sugestões (só as colunas usadas no seletor)
+    @Query("select new villares_metals.sistema_web.dto.SugestaoProduto(p.idProduto, p.nomeProduto) from Produto p")
+    public List<SugestaoProduto> findSugestoes();
+
+    // Sincronização incremental (ver MudancaService)
+    @Query("select p from Produto p where p.seqMudanca > :desde order by p.seqMudanca")
+    public List<Produto> findMudancasDesde(@Param("desde") long desde);
 }
 
@@ -0,0 +1,48 @@
+package villares_metals.sistema_web.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import villares_metals.sistema_web.domain.RegistroExclusao;
+
+@Repository
+public interface RegistroExclusaoRepository extends JpaRepository<RegistroExclusao, Long>{
+
+    // usa idx_registro_exclusao_seq
+    @Query("select r.idExcluido from RegistroExclusao r where r.recurso = :recurso and r.seqMudanca > :desde"
+            + " order by r.seqMudanca")
+    public List<Integer> findExcluidosDesde(@Param("recurso") String recurso, @Param("desde") long desde);
+
+    @Modifying
+    @Query(value = "INSERT INTO registro_exclusao (recurso, id_excluido, seq_mudanca, excluido_em)"
+            + " VALUES (:recurso, :id, :seq, :agora)", nativeQuery = true)
+    public int registrar(
+            @Param("recurso") String recurso,
+            @Param("id") Integer id,
+            @Param("seq") long seq,
+            @Param("agora") LocalDateTime agora);
+
+    // Grava a partir das ordens que vão sair, então roda antes dos DELETEs em conjunto
+
+    @Modifying
+    @Query(value = "INSERT INTO registro_exclusao (recurso, id_excluido, seq_mudanca, excluido_em)"
+            + " SELECT 'os', n_os, :seq, :agora FROM ordem_servico WHERE id_cliente = :id AND excluido_em IS NULL",
+            nativeQuery = true)
+    public int registrarOrdensDoCliente(
+            @Param("id") Integer idCliente,
+            @Param("seq") long seq,
+            @Param("agora") LocalDateTime agora);
+
+    // Ordens arquivadas: grava a partir das cópias no arquivo, depois que saíram das tabelas ativas
+    @Modifying
+    @Query(value = "INSERT INTO registro_exclusao (recurso, id_excluido, seq_mudanca, excluido_em)"
+            + " SELECT 'os', n_os, :seq, :agora FROM ordem_servico_arquivo WHERE n_os IN (:ids)", nativeQuery = true)
+    public int registrarOrdens(
+            @Param("ids") List<Integer> ids,
+            @Param("seq") long seq,
+            @Param("agora") LocalDateTime agora);
+}
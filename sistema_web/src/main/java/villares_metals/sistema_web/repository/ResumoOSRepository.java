@@ -0,0 +1,40 @@
+package villares_metals.sistema_web.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import villares_metals.sistema_web.domain.ResumoOS;
+import villares_metals.sistema_web.domain.enums.DimensaoResumo;
+import villares_metals.sistema_web.domain.enums.Granularidade;
+
+@Repository
+public interface ResumoOSRepository extends JpaRepository<ResumoOS, Long>{
+
+    @Query("select r from ResumoOS r where r.granularidade = :granularidade and r.dimensao = :dimensao"
+            + " and r.inicioPeriodo between :inicio and :fim order by r.inicioPeriodo")
+    public List<ResumoOS> findPeriodo(
+            @Param("granularidade") Granularidade granularidade,
+            @Param("dimensao") DimensaoResumo dimensao,
+            @Param("inicio") LocalDate inicio,
+            @Param("fim") LocalDate fim);
+
+    // Soma (ou subtrai, com valores negativos) na linha do período, criando-a se não existir
+    @Modifying
+    @Query(value = "INSERT INTO resumo_os"
+            + " (granularidade, dimensao, inicio_periodo, status_producao, status_pagamento, quantidade, valor_total)"
+            + " VALUES (:granularidade, :dimensao, :inicio, :status, :pago, :quantidade, :valor)"
+            + " ON DUPLICATE KEY UPDATE quantidade = quantidade + VALUES(quantidade),"
+            + " valor_total = valor_total + VALUES(valor_total)", nativeQuery = true)
+    public int acumular(
+            @Param("granularidade") String granularidade,
+            @Param("dimensao") String dimensao,
+            @Param("inicio") LocalDate inicio,
+            @Param("status") String status,
+            @Param("pago") boolean pago,
+            @Param("quantidade") long quantidade,
+            @Param("valor") double valor);
+}
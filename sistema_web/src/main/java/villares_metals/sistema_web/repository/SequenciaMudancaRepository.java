@@ -0,0 +1,21 @@
+package villares_metals.sistema_web.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import villares_metals.sistema_web.domain.SequenciaMudanca;
+
+@Repository
+public interface SequenciaMudancaRepository extends JpaRepository<SequenciaMudanca, String>{
+
+    // SELECT ... FOR UPDATE: a linha fica travada até o fim da transação
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from SequenciaMudanca s where s.recurso = :recurso")
+    public SequenciaMudanca findParaAtualizar(@Param("recurso") String recurso);
+
+    @Query("select s.valor from SequenciaMudanca s where s.recurso = :recurso")
+    public Long findValor(@Param("recurso") String recurso);
+}
@@ -0,0 +1,26 @@
+package villares_metals.sistema_web.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Ações sobre estado em memória (caches, índices, filtros) que só podem valer depois que
+// a gravação no banco foi confirmada. Com rollback a ação não roda.
+final class AposCommit {
+
+    private AposCommit() {
+    }
+
+    //roda depois do commit da transação atual (ou já, se não houver transação)
+    static void executar(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package villares_metals.sistema_web.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import villares_metals.sistema_web.domain.enums.StatusProducao;
+import villares_metals.sistema_web.repository.OrdemServicoArquivoRepository;
+
+// Move as ordens PRONTO e pagas, com entrega mais antiga que a idade configurada,
+// de ordem_servico/ordena_produto para as tabelas de arquivo.
+// Cada lote roda numa transação própria, para não segurar locks nem crescer o undo log.
+@Service
+public class ArquivamentoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ArquivamentoService.class);
+
+    private final OrdemServicoArquivoRepository arquivoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MudancaService mudancaService;
+
+    // idade mínima (dias desde a data de entrega) para uma ordem ser arquivada
+    @Value("${arquivamento.idade-dias:180}")
+    private int idadeDias;
+
+    // quantidade de ordens movidas por transação
+    @Value("${arquivamento.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    public ArquivamentoService(
+            OrdemServicoArquivoRepository arquivoRepository,
+            TransactionTemplate transactionTemplate,
+            MudancaService mudancaService
+    ) {
+        this.arquivoRepository = arquivoRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.mudancaService = mudancaService;
+    }
+
+    @Scheduled(cron = "${arquivamento.cron:0 0 3 * * *}")
+    public void arquivarOrdensConcluidas() {
+        LocalDate limite = LocalDate.now().minusDays(idadeDias);
+        int total = 0;
+        int movidas;
+        do {
+            movidas = transactionTemplate.execute(status -> arquivarLote(limite));
+            total += movidas;
+        } while (movidas == tamanhoLote);
+
+        if (total > 0) {
+            log.info("Arquivamento: {} ordens com entrega anterior a {} movidas para o arquivo", total, limite);
+        }
+    }
+
+    // Copia um lote para o arquivo e remove das tabelas ativas (itens antes das ordens, por causa da FK).
+    // O registro de exclusão vem por último, com as linhas já travadas (ver MudancaService)
+    private int arquivarLote(LocalDate limite) {
+        List<Integer> ids = arquivoRepository.findIdsArquivaveis(limite, tamanhoLote);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        arquivoRepository.copiarOrdens(ids);
+        arquivoRepository.copiarItens(ids);
+        arquivoRepository.removerItensAtivos(ids);
+        arquivoRepository.removerOrdensAtivas(ids);
+        mudancaService.registrarExclusaoOrdens(ids); // saem da listagem de OS
+        return ids.size();
+    }
+
+    // Diz se uma busca pode encontrar ordens arquivadas.
+    // O arquivo só tem ordens PRONTO e pagas, com entrega até a maior data já arquivada,
+    // então filtros que excluem isso dispensam a consulta às tabelas de arquivo.
+    public boolean buscaAlcancaArquivo(LocalDate dataInicio, Boolean statusPagamento, String statusProducao) {
+        if (Boolean.FALSE.equals(statusPagamento)) {
+            return false;
+        }
+        if (statusProducao != null && !statusProducao.isEmpty()
+                && !statusProducao.equalsIgnoreCase(StatusProducao.PRONTO.name())) {
+            try {
+                StatusProducao.valueOf(statusProducao.toUpperCase());
+                return false;
+            } catch (IllegalArgumentException e) {
+                // status inválido é ignorado pela busca, então não restringe
+            }
+        }
+        LocalDate maiorArquivada = arquivoRepository.findMaiorDataEntrega();
+        if (maiorArquivada == null) {
+            return false;
+        }
+        return dataInicio == null || !dataInicio.isAfter(maiorArquivada);
+    }
+}
@@ -0,0 +1,87 @@
+package villares_metals.sistema_web.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// JSON pronto de GET /os/{id}, por número da OS. LRU limitado pelo total de bytes guardados.
+// As gravações invalidam só depois do commit; o contador de geração impede que uma leitura
+// iniciada antes da invalidação guarde no cache um JSON que já ficou velho.
+@Component
+public class CacheRespostaOS {
+
+    private final long maximoBytes;
+    private final int maximoBytesPorEntrada;
+
+    // ordem de acesso: o primeiro da iteração é o menos usado recentemente
+    private final LinkedHashMap<Integer, byte[]> entradas = new LinkedHashMap<>(256, 0.75f, true);
+    private long bytesGuardados;
+    private long geracao;
+
+    public CacheRespostaOS(
+            @Value("${cache.os.maximo-bytes:16777216}") long maximoBytes,
+            @Value("${cache.os.maximo-bytes-por-entrada:262144}") int maximoBytesPorEntrada) {
+        this.maximoBytes = maximoBytes;
+        this.maximoBytesPorEntrada = maximoBytesPorEntrada;
+    }
+
+    public synchronized byte[] ler(Integer idOS) {
+        return entradas.get(idOS);
+    }
+
+    // Chamar ANTES de ler do banco; o valor é passado depois para guardar()
+    public synchronized long geracaoAtual() {
+        return geracao;
+    }
+
+    public synchronized void guardar(Integer idOS, byte[] json, long geracaoDaLeitura) {
+        if (geracaoDaLeitura != geracao || json.length > maximoBytesPorEntrada || json.length > maximoBytes) {
+            return;
+        }
+        byte[] anterior = entradas.put(idOS, json);
+        if (anterior != null) {
+            bytesGuardados -= anterior.length;
+        }
+        bytesGuardados += json.length;
+        Iterator<Map.Entry<Integer, byte[]>> it = entradas.entrySet().iterator();
+        while (bytesGuardados > maximoBytes && it.hasNext()) {
+            bytesGuardados -= it.next().getValue().length;
+            it.remove();
+        }
+    }
+
+    //remove a OS do cache depois do commit da transação atual (ou já, se não houver transação)
+    public void invalidarAposCommit(Integer idOS) {
+        AposCommit.executar(() -> invalidar(idOS));
+    }
+
+    //esvazia o cache depois do commit; usado quando muda um cliente ou produto,
+    //que aparecem dentro do JSON de várias OS
+    public void limparAposCommit() {
+        AposCommit.executar(this::limpar);
+    }
+
+    public synchronized void invalidar(Integer idOS) {
+        geracao++;
+        byte[] removido = entradas.remove(idOS);
+        if (removido != null) {
+            bytesGuardados -= removido.length;
+        }
+    }
+
+    public synchronized void limpar() {
+        geracao++;
+        entradas.clear();
+        bytesGuardados = 0;
+    }
+
+    public synchronized int tamanho() {
+        return entradas.size();
+    }
+
+    public synchronized long getBytesGuardados() {
+        return bytesGuardados;
+    }
+}
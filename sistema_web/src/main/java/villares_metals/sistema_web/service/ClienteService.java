@@ -1,11 +1,19 @@
 package villares_metals.sistema_web.service;
 
 import jakarta.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import villares_metals.sistema_web.repository.ClienteRepository;
 import villares_metals.sistema_web.domain.Cliente;
+import villares_metals.sistema_web.domain.enums.RecursoMudanca;
+import villares_metals.sistema_web.dto.Mudancas;
+import villares_metals.sistema_web.dto.SugestaoCliente;
 
 @Service
 public class ClienteService {
@@ -13,9 +21,25 @@ public class ClienteService {
     //instancia o repositorio de clientes
     @Autowired
     private final ClienteRepository clienteRepository;
+    private final ExclusaoService exclusaoService;
+    private final CacheRespostaOS cacheRespostaOS;
+    private final MudancaService mudancaService;
     
-    public ClienteService(ClienteRepository clienteRepository) {
+    // índice em memória do seletor de clientes: nome (por palavra) e CNPJ (só dígitos)
+    private final IndicePrefixo<SugestaoCliente> indiceSugestoes = new IndicePrefixo<>(
+            SugestaoCliente::idCliente,
+            c -> {
+                List<String> chaves = new ArrayList<>(IndicePrefixo.chavesPorPalavra(c.nomeCliente()));
+                chaves.add(IndicePrefixo.somenteDigitos(c.cnpjCliente()));
+                return chaves;
+            });
+    
+    public ClienteService(ClienteRepository clienteRepository, ExclusaoService exclusaoService,
+            CacheRespostaOS cacheRespostaOS, MudancaService mudancaService) {
         this.clienteRepository = clienteRepository;
+        this.exclusaoService = exclusaoService;
+        this.cacheRespostaOS = cacheRespostaOS;
+        this.mudancaService = mudancaService;
     }
     
     //recupera cliente por id
@@ -28,14 +52,58 @@ public class ClienteService {
         return clienteRepository.findAll();
     }
     
+    //sugestões para o seletor: prefixo do nome (sem acento) ou do CNPJ
+    public List<SugestaoCliente> sugerirClientes(String termo, int limite) {
+        Map<Integer, SugestaoCliente> resultado = new LinkedHashMap<>();
+        for (SugestaoCliente c : indiceSugestoes.buscar(IndicePrefixo.normalizar(termo), limite)) {
+            resultado.put(c.idCliente(), c);
+        }
+        String digitos = IndicePrefixo.somenteDigitos(termo);
+        if (resultado.size() < limite && !digitos.isEmpty()) {
+            for (SugestaoCliente c : indiceSugestoes.buscar(digitos, limite)) {
+                if (resultado.size() < limite) {
+                    resultado.putIfAbsent(c.idCliente(), c);
+                }
+            }
+        }
+        return new ArrayList<>(resultado.values());
+    }
+    
+    //clientes criados, alterados ou excluídos depois de "desde" (sincronização incremental)
+    public Mudancas<Cliente> mudancasClientes(long desde) {
+        return mudancaService.mudancasClientes(desde);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarSugestoes() {
+        indiceSugestoes.carregar(clienteRepository.findSugestoes());
+    }
+    
     //salva ou atualiza cliente no db
     @Transactional
     public Cliente postCliente(Cliente cliente) {
-        return clienteRepository.save(cliente);
+        // o cliente aparece no JSON das OS em cache; cliente novo ainda não está em nenhuma
+        if (cliente.getIdCliente() != null) {
+            cacheRespostaOS.limparAposCommit();
+        }
+        boolean alteracao = cliente.getIdCliente() != null;
+        cliente.setSeqMudanca(0L); // provisório até o número de mudança, no fim
+        Cliente salvo = clienteRepository.save(cliente);
+        if (alteracao) {
+            mudancaService.marcarOrdensDoCliente(salvo.getIdCliente());
+        }
+        // número de mudança por último, depois do contador de OS (ordem dos locks em MudancaService)
+        salvo.setSeqMudanca(mudancaService.proximo(RecursoMudanca.CLIENTE));
+        indiceSugestoes.atualizarAposCommit(new SugestaoCliente(
+                salvo.getIdCliente(), salvo.getNomeCliente(), salvo.getCnpjCliente(), salvo.getTelefoneCliente()));
+        return salvo;
     }
     
     @Transactional
     public void deleteCliente(Integer id) {
-        clienteRepository.deleteById(id);
+        // Itens, ordens e cliente removidos com DELETEs em conjunto, ver ExclusaoService
+        exclusaoService.excluirCliente(id);
+        indiceSugestoes.removerAposCommit(id);
+        cacheRespostaOS.limparAposCommit();
     }
 }
@@ -0,0 +1,87 @@
+package villares_metals.sistema_web.service;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import villares_metals.sistema_web.dto.EstatisticasCompartimento;
+
+// Limite de requisições simultâneas de uma classe de endpoints (bulkhead).
+// Quem passa do limite espera numa fila limitada, por ordem de chegada (semáforo justo),
+// até o tempo máximo; fila cheia ou tempo esgotado = rejeição imediata.
+public class Compartimento {
+
+    private final String nome;
+    private final int limite;
+    private final int maximoFila;
+    private final long esperaMaximaMs;
+    private final Semaphore vagas;
+
+    private final AtomicInteger naFila = new AtomicInteger();
+    private final AtomicInteger picoAtivas = new AtomicInteger();
+    private final AtomicLong aceitas = new AtomicLong();
+    private final AtomicLong rejeitadasFilaCheia = new AtomicLong();
+    private final AtomicLong rejeitadasTempo = new AtomicLong();
+    private final AtomicLong esperaTotalNanos = new AtomicLong();
+
+    public Compartimento(String nome, int limite, int maximoFila, long esperaMaximaMs) {
+        this.nome = nome;
+        this.limite = limite;
+        this.maximoFila = maximoFila;
+        this.esperaMaximaMs = esperaMaximaMs;
+        this.vagas = new Semaphore(limite, true);
+    }
+
+    // true se conseguiu vaga; quem recebe true deve chamar sair() ao terminar.
+    // A tentativa imediata usa tryAcquire com tempo zero, que respeita a fila do semáforo
+    // justo (o tryAcquire() sem argumentos passaria na frente de quem já está esperando)
+    public boolean entrar() throws InterruptedException {
+        if (!vagas.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+            if (naFila.incrementAndGet() > maximoFila) {
+                naFila.decrementAndGet();
+                rejeitadasFilaCheia.incrementAndGet();
+                return false;
+            }
+            long inicio = System.nanoTime();
+            try {
+                if (!vagas.tryAcquire(esperaMaximaMs, TimeUnit.MILLISECONDS)) {
+                    rejeitadasTempo.incrementAndGet();
+                    return false;
+                }
+            } finally {
+                naFila.decrementAndGet();
+                esperaTotalNanos.addAndGet(System.nanoTime() - inicio);
+            }
+        }
+        aceitas.incrementAndGet();
+        picoAtivas.accumulateAndGet(getAtivas(), Math::max);
+        return true;
+    }
+
+    public void sair() {
+        vagas.release();
+    }
+
+    public int getAtivas() {
+        return limite - vagas.availablePermits();
+    }
+
+    public long getEsperaMaximaMs() {
+        return esperaMaximaMs;
+    }
+
+    public EstatisticasCompartimento estatisticas() {
+        long totalAceitas = aceitas.get();
+        return new EstatisticasCompartimento(
+                nome,
+                limite,
+                maximoFila,
+                getAtivas(),
+                naFila.get(),
+                picoAtivas.get(),
+                totalAceitas,
+                rejeitadasFilaCheia.get(),
+                rejeitadasTempo.get(),
+                totalAceitas == 0 ? 0 : esperaTotalNanos.get() / 1e6 / totalAceitas);
+    }
+}
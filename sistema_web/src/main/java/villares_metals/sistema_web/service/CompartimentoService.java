@@ -0,0 +1,43 @@
+package villares_metals.sistema_web.service;
+
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import villares_metals.sistema_web.dto.EstatisticasCompartimento;
+
+// Compartimentos de execução: leituras pesadas (listagem completa, busca, fichas, relatórios)
+// e o restante (CRUD interativo). Como cada requisição segura uma conexão do Hikari enquanto
+// roda, o limite do pesado menor que o pool garante conexões livres para o interativo.
+@Service
+public class CompartimentoService {
+
+    private final Compartimento pesado;
+    private final Compartimento interativo;
+
+    public CompartimentoService(
+            @Value("${compartimento.pesado.limite:4}") int limitePesado,
+            @Value("${compartimento.pesado.fila:8}") int filaPesado,
+            @Value("${compartimento.pesado.espera-ms:2000}") long esperaPesado,
+            @Value("${compartimento.interativo.limite:30}") int limiteInterativo,
+            @Value("${compartimento.interativo.fila:100}") int filaInterativo,
+            @Value("${compartimento.interativo.espera-ms:1000}") long esperaInterativo
+    ) {
+        this.pesado = new Compartimento("pesado", limitePesado, filaPesado, esperaPesado);
+        this.interativo = new Compartimento("interativo", limiteInterativo, filaInterativo, esperaInterativo);
+    }
+
+    // Leituras que varrem muitas OS. As sincronizações (/mudancas) também: na carga completa
+    // (desde=0) e depois de muito tempo sem sincronizar trazem a tabela quase inteira
+    public Compartimento classificar(String metodo, String caminho) {
+        if ("GET".equals(metodo) && (caminho.equals("/os") || caminho.equals("/busca")
+                || caminho.equals("/os/fichas") || caminho.equals("/os/resumo") || caminho.equals("/os/prazos")
+                || caminho.endsWith("/mudancas"))) {
+            return pesado;
+        }
+        return interativo;
+    }
+
+    public List<EstatisticasCompartimento> estatisticas() {
+        return List.of(pesado.estatisticas(), interativo.estatisticas());
+    }
+}
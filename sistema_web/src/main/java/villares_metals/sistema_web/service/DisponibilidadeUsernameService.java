@@ -0,0 +1,157 @@
+package villares_metals.sistema_web.service;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Collator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import villares_metals.sistema_web.repository.FuncionarioRepository;
+
+// Verificação de username livre no cadastro (chamada a cada tecla).
+// Um filtro de Bloom em memória com todos os usernames responde "livre" sem ir ao banco;
+// só um possível acerto (username existente ou falso positivo) vira consulta no MySQL.
+//
+// O filtro não pode ter falso negativo (dizer "livre" para um username que existe):
+// - é montado na inicialização, antes de o servidor aceitar requisições;
+// - cadastros entram depois do commit (um rollback não deixa lixo, e a leitura da carga
+//   já enxerga a linha gravada);
+// - cadastros que chegam durante uma reconstrução são guardados e somados ao filtro novo,
+//   pois a leitura do banco pode não tê-los visto.
+@Service
+public class DisponibilidadeUsernameService implements SmartInitializingSingleton {
+
+    // Mesma igualdade da collation utf8mb4_0900_ai_ci (só o peso primário: sem distinguir
+    // maiúsculas, acentos, ß/ss, ligaduras...). Sincronizado internamente pelo JDK
+    private static final Collator COLACAO = Collator.getInstance(Locale.ROOT);
+
+    static {
+        COLACAO.setStrength(Collator.PRIMARY);
+        COLACAO.setDecomposition(Collator.FULL_DECOMPOSITION);
+    }
+
+    private final FuncionarioRepository funcionarioRepository;
+    // leitura da carga numa transação própria, com os dados já confirmados
+    private final TransactionTemplate novaTransacao;
+
+    @Value("${username.bloom.capacidade:100000}")
+    private volatile int capacidade;
+
+    @Value("${username.bloom.taxa-falso-positivo:0.01}")
+    private double taxaFalsoPositivo;
+
+    // uma reconstrução por vez; o estado abaixo é protegido por "this"
+    private final Object reconstrucao = new Object();
+
+    // null até a primeira carga; enquanto isso toda verificação vai ao banco
+    private volatile FiltroBloom filtro;
+    // cadastros desde o início da carga em andamento (null fora de uma carga)
+    private Set<String> registradosNaCarga = new HashSet<>();
+    private int inseridos;
+    private int excluidos;
+
+    public DisponibilidadeUsernameService(
+            FuncionarioRepository funcionarioRepository,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.funcionarioRepository = funcionarioRepository;
+        this.novaTransacao = new TransactionTemplate(transactionManager);
+        this.novaTransacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.novaTransacao.setReadOnly(true);
+    }
+
+    public boolean isDisponivel(String username) {
+        FiltroBloom atual = filtro;
+        if (atual != null && !atual.talvezContenha(chave(username))) {
+            return true;
+        }
+        return !funcionarioRepository.existsByUser(username);
+    }
+
+    //inclui o username no filtro depois do commit (cadastro ou troca de username)
+    public void registrar(String username) {
+        String chave = chave(username);
+        AposCommit.executar(() -> adicionar(chave));
+    }
+
+    // O filtro não remove itens: o username excluído continua "talvez existente" e cai na
+    // consulta ao banco. Quando as exclusões acumulam, o filtro é reconstruído.
+    public void registrarExclusao() {
+        AposCommit.executar(() -> {
+            boolean reconstruir;
+            synchronized (this) {
+                reconstruir = ++excluidos > capacidade / 20;
+            }
+            if (reconstruir) {
+                carregar();
+            }
+        });
+    }
+
+    // Carga antes de o servidor web subir (os singletons ficam prontos antes dele)
+    @Override
+    public void afterSingletonsInstantiated() {
+        carregar();
+    }
+
+    //reconstrói o filtro a partir do banco
+    public void carregar() {
+        synchronized (reconstrucao) {
+            synchronized (this) {
+                if (registradosNaCarga == null) { // na primeira carga já vem criado
+                    registradosNaCarga = new HashSet<>();
+                }
+            }
+            List<String> usernames = novaTransacao.execute(status -> funcionarioRepository.findUsernames());
+            synchronized (this) {
+                int total = usernames.size() + registradosNaCarga.size();
+                while (total > capacidade) {
+                    capacidade *= 2;
+                }
+                FiltroBloom novo = new FiltroBloom(capacidade, taxaFalsoPositivo);
+                for (String username : usernames) {
+                    novo.adicionar(chave(username));
+                }
+                registradosNaCarga.forEach(novo::adicionar);
+                inseridos = total;
+                excluidos = 0;
+                registradosNaCarga = null;
+                filtro = novo;
+            }
+        }
+    }
+
+    private void adicionar(String chave) {
+        boolean redimensionar;
+        synchronized (this) {
+            if (registradosNaCarga != null) {
+                registradosNaCarga.add(chave);
+            }
+            if (filtro == null) {
+                return;
+            }
+            filtro.adicionar(chave);
+            // acima da capacidade a taxa de falso positivo sobe: redimensiona
+            redimensionar = ++inseridos > capacidade;
+            if (redimensionar) {
+                capacidade *= 2;
+            }
+        }
+        if (redimensionar) {
+            carregar();
+        }
+    }
+
+    // Chave de comparação primária da collation; normalizar antes torna a chave ainda mais
+    // grossa (espaços), o que só pode gerar falso positivo, nunca falso negativo
+    static String chave(String username) {
+        byte[] chave = COLACAO.getCollationKey(IndicePrefixo.normalizar(username)).toByteArray();
+        return new String(chave, StandardCharsets.ISO_8859_1);
+    }
+}
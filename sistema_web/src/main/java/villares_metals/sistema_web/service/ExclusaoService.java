@@ -0,0 +1,108 @@
+package villares_metals.sistema_web.service;
+
+import jakarta.transaction.Transactional;
+import java.time.LocalDateTime;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import villares_metals.sistema_web.domain.enums.RecursoMudanca;
+import villares_metals.sistema_web.dto.ContribuicaoResumo;
+import villares_metals.sistema_web.repository.ClienteRepository;
+import villares_metals.sistema_web.repository.OrdemServicoArquivoRepository;
+import villares_metals.sistema_web.repository.OrdemServicoRepository;
+import villares_metals.sistema_web.repository.OrdenaProdutoRepository;
+
+// Exclusão de clientes e ordens com comandos em conjunto (DELETE/UPDATE ... WHERE),
+// na ordem das chaves estrangeiras: itens, ordens e por último o cliente.
+// Substitui o deleteById com CascadeType.ALL, que carregava o grafo inteiro na memória
+// e emitia um DELETE por linha filha. O custo agora é um número fixo de comandos.
+//
+// Com exclusao.modo=logica as linhas não são apagadas: recebem excluido_em e deixam de
+// aparecer nas consultas (@SQLRestriction nas entidades).
+@Service
+public class ExclusaoService {
+
+    private final ClienteRepository clienteRepository;
+    private final OrdemServicoRepository ordemServicoRepository;
+    private final OrdenaProdutoRepository ordenaProdutoRepository;
+    private final OrdemServicoArquivoRepository arquivoRepository;
+    private final ResumoOSService resumoOSService;
+    private final MudancaService mudancaService;
+
+    // fisica (padrão) ou logica
+    @Value("${exclusao.modo:fisica}")
+    private String modo;
+
+    public ExclusaoService(
+            ClienteRepository clienteRepository,
+            OrdemServicoRepository ordemServicoRepository,
+            OrdenaProdutoRepository ordenaProdutoRepository,
+            OrdemServicoArquivoRepository arquivoRepository,
+            ResumoOSService resumoOSService,
+            MudancaService mudancaService
+    ) {
+        this.clienteRepository = clienteRepository;
+        this.ordemServicoRepository = ordemServicoRepository;
+        this.ordenaProdutoRepository = ordenaProdutoRepository;
+        this.arquivoRepository = arquivoRepository;
+        this.resumoOSService = resumoOSService;
+        this.mudancaService = mudancaService;
+    }
+
+    // Exclui o cliente com todas as suas ordens (ativas e arquivadas) e os itens delas
+    @Transactional
+    public void excluirCliente(Integer idCliente) {
+        // Trava tudo o que vai sair (cliente, ordens ativas e arquivadas) antes dos contadores
+        // da sincronização incremental, na ordem dos locks de MudancaService
+        clienteRepository.travarCliente(idCliente);
+        ordemServicoRepository.travarOrdensDoCliente(idCliente);
+        arquivoRepository.travarOrdensDoCliente(idCliente);
+
+        // Retira as ordens dos resumos (consultas agrupadas por dia, sem carregar as ordens)
+        ordemServicoRepository.findContribuicoesResumoDoCliente(idCliente).forEach(resumoOSService::remover);
+        arquivoRepository.findContribuicoesResumoDoCliente(idCliente).forEach(resumoOSService::remover);
+
+        // Registro das ordens antes de elas sumirem. Os DELETEs abaixo só mexem em linhas já
+        // travadas, então não esperam por outra transação com o contador de OS preso
+        mudancaService.registrarExclusaoOrdensDoCliente(idCliente);
+
+        if (isLogica()) {
+            LocalDateTime agora = LocalDateTime.now();
+            ordemServicoRepository.marcarExcluidasDoCliente(idCliente, agora);
+            arquivoRepository.marcarExcluidasDoCliente(idCliente, agora);
+            clienteRepository.marcarExcluido(idCliente, agora);
+        } else {
+            ordenaProdutoRepository.excluirItensDoCliente(idCliente);
+            ordemServicoRepository.excluirOrdensDoCliente(idCliente);
+            arquivoRepository.excluirItensDoCliente(idCliente);
+            arquivoRepository.excluirOrdensDoCliente(idCliente);
+            clienteRepository.excluirCliente(idCliente);
+        }
+        mudancaService.registrarExclusao(RecursoMudanca.CLIENTE, idCliente);
+    }
+
+    // Exclui a ordem (ativa ou arquivada) e os seus itens
+    @Transactional
+    public void excluirOS(Integer idOS) {
+        ContribuicaoResumo resumo = ordemServicoRepository.findContribuicaoResumoParaAtualizar(idOS);
+        if (resumo != null) {
+            resumoOSService.remover(resumo);
+        }
+        arquivoRepository.findContribuicoesResumoDaOS(idOS).forEach(resumoOSService::remover);
+
+        if (isLogica()) {
+            LocalDateTime agora = LocalDateTime.now();
+            ordemServicoRepository.marcarExcluida(idOS, agora);
+            arquivoRepository.marcarExcluida(idOS, agora);
+        } else {
+            ordenaProdutoRepository.excluirItensDaOS(idOS);
+            ordemServicoRepository.excluirOS(idOS);
+            arquivoRepository.excluirItensDaOS(idOS);
+            arquivoRepository.excluirOS(idOS);
+        }
+        mudancaService.registrarExclusao(RecursoMudanca.OS, idOS); // contador por último, com a OS já travada
+    }
+
+    private boolean isLogica() {
+        return "logica".equalsIgnoreCase(modo);
+    }
+}
@@ -0,0 +1,119 @@
+package villares_metals.sistema_web.service;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+import villares_metals.sistema_web.domain.OrdemServico;
+import villares_metals.sistema_web.domain.enums.StatusProducao;
+import villares_metals.sistema_web.repository.OrdemServicoRepository;
+
+// Renderiza as fichas de OS para impressão (templates/fichas) num único documento HTML.
+// As fichas são renderizadas em paralelo num pool limitado e escritas na ordem, à medida
+// que ficam prontas; só uma janela de fichas fica em memória ao mesmo tempo.
+// Os templates são analisados uma vez e ficam no cache do Thymeleaf (spring.thymeleaf.cache).
+@Service
+public class FichaOSService {
+
+    private static final String MARCADOR_FICHAS = "<!--FICHAS-->";
+
+    private final OrdemServicoRepository ordemServicoRepository;
+    private final ITemplateEngine templateEngine;
+    private final ThreadPoolExecutor executor;
+    private final int janela;
+
+    public FichaOSService(
+            OrdemServicoRepository ordemServicoRepository,
+            ITemplateEngine templateEngine,
+            @Value("${fichas.threads:0}") int threads
+    ) {
+        this.ordemServicoRepository = ordemServicoRepository;
+        this.templateEngine = templateEngine;
+        int tamanho = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.janela = tamanho * 2;
+        // fila limitada; se encher, quem pediu renderiza a ficha na própria thread
+        this.executor = new ThreadPoolExecutor(tamanho, tamanho, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(tamanho * 8),
+                new CustomizableThreadFactory("fichas-os-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    //ordens em FILA com entrega na data
+    public List<OrdemServico> buscarFichasDoDia(LocalDate data) {
+        return ordemServicoRepository.findFichasPorData(StatusProducao.FILA, data);
+    }
+
+    public List<OrdemServico> buscarFichas(List<Integer> ids) {
+        return ordemServicoRepository.findFichasPorIds(ids);
+    }
+
+    // Escreve o documento com uma ficha por ordem (as ordens já devem vir com itens e produtos)
+    public void renderizar(List<OrdemServico> ordens, String titulo, OutputStream saida) throws IOException {
+        Context contextoDocumento = new Context();
+        contextoDocumento.setVariable("titulo", titulo);
+        String documento = templateEngine.process("fichas/documento", contextoDocumento);
+        int posMarcador = documento.indexOf(MARCADOR_FICHAS);
+
+        Writer writer = new OutputStreamWriter(saida, StandardCharsets.UTF_8);
+        writer.write(documento, 0, posMarcador);
+
+        Deque<Future<String>> pendentes = new ArrayDeque<>();
+        try {
+            for (OrdemServico os : ordens) {
+                pendentes.add(executor.submit(() -> renderizarFicha(os)));
+                if (pendentes.size() >= janela) {
+                    writer.write(aguardar(pendentes.poll()));
+                }
+            }
+            while (!pendentes.isEmpty()) {
+                writer.write(aguardar(pendentes.poll()));
+            }
+        } finally {
+            // se o cliente desconectou ou uma ficha falhou, descarta o restante
+            pendentes.forEach(f -> f.cancel(true));
+        }
+
+        writer.write(documento, posMarcador + MARCADOR_FICHAS.length(),
+                documento.length() - posMarcador - MARCADOR_FICHAS.length());
+        writer.flush();
+    }
+
+    private String renderizarFicha(OrdemServico os) {
+        Context contexto = new Context();
+        contexto.setVariable("os", os);
+        return templateEngine.process("fichas/ficha", contexto);
+    }
+
+    private static String aguardar(Future<String> ficha) throws IOException {
+        try {
+            return ficha.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Renderização das fichas interrompida", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Erro ao renderizar ficha de OS", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,63 @@
+package villares_metals.sistema_web.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Filtro de Bloom para strings: responde "com certeza não está" ou "talvez esteja".
+// Não tem remoção; quem usa reconstrói o filtro quando precisa descartar itens.
+public class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final int numeroBits;
+    private final int numeroHashes;
+
+    // Dimensiona para a capacidade e taxa de falso positivo desejadas
+    public FiltroBloom(int capacidade, double taxaFalsoPositivo) {
+        long m = (long) Math.ceil(-capacidade * Math.log(taxaFalsoPositivo) / (Math.log(2) * Math.log(2)));
+        this.numeroBits = (int) Math.max(64, Math.min(m, Integer.MAX_VALUE - 63));
+        this.numeroHashes = Math.max(1, (int) Math.round((double) numeroBits / capacidade * Math.log(2)));
+        this.bits = new AtomicLongArray((numeroBits + 63) / 64);
+    }
+
+    public void adicionar(String valor) {
+        long hash = hash64(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < numeroHashes; i++) {
+            int bit = Math.floorMod(h1 + i * h2, numeroBits);
+            long mascara = 1L << (bit & 63);
+            int palavra = bit >>> 6;
+            long atual;
+            do {
+                atual = bits.get(palavra);
+            } while ((atual & mascara) == 0 && !bits.compareAndSet(palavra, atual, atual | mascara));
+        }
+    }
+
+    public boolean talvezContenha(String valor) {
+        long hash = hash64(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < numeroHashes; i++) {
+            int bit = Math.floorMod(h1 + i * h2, numeroBits);
+            if ((bits.get(bit >>> 6) & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // FNV-1a de 64 bits seguido da mistura final do MurmurHash3 (fmix64)
+    private static long hash64(String valor) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            h ^= valor.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -15,13 +15,16 @@ public class FuncionarioService {
     @Autowired
     private final FuncionarioRepository funcionarioRepository;
     private final PasswordEncoder passwordEncoder; // Injeção do Bean
+    private final DisponibilidadeUsernameService disponibilidadeUsernameService;
     
     public FuncionarioService(
             FuncionarioRepository funcionarioRepository, 
-            PasswordEncoder passwordEncoder
+            PasswordEncoder passwordEncoder,
+            DisponibilidadeUsernameService disponibilidadeUsernameService
     ) {
         this.funcionarioRepository = funcionarioRepository;
         this.passwordEncoder = passwordEncoder;
+        this.disponibilidadeUsernameService = disponibilidadeUsernameService;
     }
     
     //recupera por id
@@ -45,7 +48,9 @@ public class FuncionarioService {
         
         // 3. Define o hash de volta no objeto antes de salvar
         funcionario.setSenhaFuncionario(senhaHash);
-        return funcionarioRepository.save(funcionario);
+        Funcionario salvo = funcionarioRepository.save(funcionario);
+        disponibilidadeUsernameService.registrar(salvo.getUserFuncionario());
+        return salvo;
     }
     
     public boolean verificarLogin(String username, String senhaTextoPuro) {
@@ -59,19 +64,14 @@ public class FuncionarioService {
         return false;
     }
     
-    public Funcionario verificarLoginExistente(String username) {
-        Funcionario funcionario = funcionarioRepository.findFuncionarioByUser(username);
-        
-        if (funcionario != null) {
-            // Compara o hash armazenado com o hash da senha de texto puro
-            // O próprio BCryptPasswordEncoder faz a comparação segura
-            return funcionario;
-        }
-        return null;
+    //username livre para cadastro? (filtro de Bloom em memória, banco só em possível acerto)
+    public boolean isUsernameDisponivel(String username) {
+        return disponibilidadeUsernameService.isDisponivel(username);
     }
     
     @Transactional
     public void deleteFuncionario(Integer id) {
         funcionarioRepository.deleteById(id);
+        disponibilidadeUsernameService.registrarExclusao();
     }
 }
@@ -0,0 +1,60 @@
+package villares_metals.sistema_web.service;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+// Histograma de durações (em minutos) com faixas logarítmicas: a faixa b cobre
+// [BASE^b - 1, BASE^(b+1) - 1), então o erro relativo de um percentil fica em torno de 5%.
+// Um ano cabe em ~140 faixas, e histogramas de meses/produtos diferentes se juntam
+// somando as contagens faixa a faixa.
+public class HistogramaLog {
+
+    private static final double BASE = 1.1;
+    private static final double LOG_BASE = Math.log(BASE);
+
+    // faixa -> quantidade, em ordem crescente de faixa
+    private final TreeMap<Integer, Long> contagens = new TreeMap<>();
+    private long total;
+
+    public static int faixa(long minutos) {
+        return (int) Math.floor(Math.log(Math.max(0, minutos) + 1) / LOG_BASE);
+    }
+
+    // Valor representativo da faixa (média geométrica dos limites), em minutos
+    public static double valorDaFaixa(int faixa) {
+        double inferior = Math.pow(BASE, faixa);
+        double superior = Math.pow(BASE, faixa + 1);
+        return Math.sqrt(inferior * superior) - 1;
+    }
+
+    public void somar(int faixa, long quantidade) {
+        contagens.merge(faixa, quantidade, Long::sum);
+        total += quantidade;
+    }
+
+    public void somar(HistogramaLog outro) {
+        for (Map.Entry<Integer, Long> e : outro.contagens.entrySet()) {
+            somar(e.getKey(), e.getValue());
+        }
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    // Percentil p (0 a 1) em minutos; 0 se o histograma estiver vazio
+    public double percentil(double p) {
+        if (total == 0) {
+            return 0;
+        }
+        long alvo = Math.max(1, (long) Math.ceil(p * total));
+        long acumulado = 0;
+        for (Map.Entry<Integer, Long> e : contagens.entrySet()) {
+            acumulado += e.getValue();
+            if (acumulado >= alvo) {
+                return valorDaFaixa(e.getKey());
+            }
+        }
+        return valorDaFaixa(contagens.lastKey());
+    }
+}
@@ -0,0 +1,125 @@
+package villares_metals.sistema_web.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.stereotype.Service;
+import villares_metals.sistema_web.domain.HistogramaPrazo;
+import villares_metals.sistema_web.domain.HistoricoStatusOS;
+import villares_metals.sistema_web.domain.OrdemServico;
+import villares_metals.sistema_web.domain.enums.MetricaPrazo;
+import villares_metals.sistema_web.domain.enums.StatusProducao;
+import villares_metals.sistema_web.dto.PercentisPrazo;
+import villares_metals.sistema_web.repository.HistogramaPrazoRepository;
+import villares_metals.sistema_web.repository.HistoricoStatusOSRepository;
+import villares_metals.sistema_web.repository.OrdenaProdutoRepository;
+
+// Registra as mudanças de status de produção e mantém os histogramas de prazos.
+// Chamado pelo postOS dentro da transação da gravação: cada prazo concluído
+// (saída da FILA, saída da PRODUCAO, chegada em PRONTO) soma 1 na faixa do mês
+// em que terminou, para o total (idProduto 0) e para cada produto da OS.
+@Service
+public class HistoricoStatusService {
+
+    public static final Integer TODOS_PRODUTOS = 0;
+
+    private final HistoricoStatusOSRepository historicoRepository;
+    private final HistogramaPrazoRepository histogramaRepository;
+    private final OrdenaProdutoRepository ordenaProdutoRepository;
+
+    public HistoricoStatusService(
+            HistoricoStatusOSRepository historicoRepository,
+            HistogramaPrazoRepository histogramaRepository,
+            OrdenaProdutoRepository ordenaProdutoRepository
+    ) {
+        this.historicoRepository = historicoRepository;
+        this.histogramaRepository = histogramaRepository;
+        this.ordenaProdutoRepository = ordenaProdutoRepository;
+    }
+
+    // anterior null = OS nova. Não faz nada se o status não mudou
+    public void registrarMudanca(OrdemServico os, StatusProducao anterior, StatusProducao atual) {
+        if (anterior == atual) {
+            return;
+        }
+        LocalDateTime agora = LocalDateTime.now();
+        HistoricoStatusOS ultima = anterior != null ? historicoRepository.findUltimaMudanca(os.getIdOS()) : null;
+        historicoRepository.save(new HistoricoStatusOS(null, os.getIdOS(), anterior, atual, agora));
+        if (anterior == null) {
+            return;
+        }
+
+        // Quando a OS entrou no status que está deixando. Ordens anteriores ao histórico
+        // não têm esse registro: para a FILA vale a aprovação, para a PRODUCAO não há como medir
+        LocalDateTime entrada = ultima != null && ultima.getStatusNovo() == anterior ? ultima.getMudadoEm() : null;
+        if (entrada == null && anterior == StatusProducao.FILA) {
+            entrada = os.getDataAprovacao();
+        }
+
+        Map<MetricaPrazo, Duration> prazos = new EnumMap<>(MetricaPrazo.class);
+        if (entrada != null && anterior == StatusProducao.FILA) {
+            prazos.put(MetricaPrazo.ESPERA_FILA, Duration.between(entrada, agora));
+        }
+        if (entrada != null && anterior == StatusProducao.PRODUCAO) {
+            prazos.put(MetricaPrazo.TEMPO_PRODUCAO, Duration.between(entrada, agora));
+        }
+        if (atual == StatusProducao.PRONTO && os.getDataAprovacao() != null) {
+            prazos.put(MetricaPrazo.APROVACAO_A_PRONTO, Duration.between(os.getDataAprovacao(), agora));
+        }
+        if (prazos.isEmpty()) {
+            return;
+        }
+
+        LocalDate mes = agora.toLocalDate().withDayOfMonth(1);
+        List<Integer> produtos = new ArrayList<>();
+        produtos.add(TODOS_PRODUTOS);
+        produtos.addAll(ordenaProdutoRepository.findIdsProdutosDaOS(os.getIdOS()));
+        prazos.forEach((metrica, prazo) -> {
+            int faixa = HistogramaLog.faixa(prazo.toMinutes());
+            for (Integer idProduto : produtos) {
+                histogramaRepository.contar(metrica.name(), mes, idProduto, faixa);
+            }
+        });
+    }
+
+    public List<HistoricoStatusOS> historicoDaOS(Integer idOS) {
+        return historicoRepository.findHistoricoDaOS(idOS);
+    }
+
+    // Percentis por métrica e mês no intervalo, mais uma linha por métrica (mes null)
+    // com o intervalo inteiro, obtida somando os histogramas mensais
+    public List<PercentisPrazo> percentis(Integer idProduto, LocalDate inicio, LocalDate fim) {
+        Map<MetricaPrazo, Map<LocalDate, HistogramaLog>> porMes = new EnumMap<>(MetricaPrazo.class);
+        for (HistogramaPrazo linha : histogramaRepository.findPeriodo(idProduto, inicio.withDayOfMonth(1), fim)) {
+            porMes.computeIfAbsent(linha.getMetrica(), m -> new LinkedHashMap<>())
+                    .computeIfAbsent(linha.getMes(), m -> new HistogramaLog())
+                    .somar(linha.getFaixa(), linha.getQuantidade());
+        }
+
+        List<PercentisPrazo> resultado = new ArrayList<>();
+        porMes.forEach((metrica, meses) -> {
+            HistogramaLog periodo = new HistogramaLog();
+            meses.forEach((mes, histograma) -> {
+                resultado.add(percentis(metrica, mes, idProduto, histograma));
+                periodo.somar(histograma);
+            });
+            resultado.add(percentis(metrica, null, idProduto, periodo));
+        });
+        return resultado;
+    }
+
+    private static PercentisPrazo percentis(MetricaPrazo metrica, LocalDate mes, Integer idProduto, HistogramaLog h) {
+        return new PercentisPrazo(metrica, mes, idProduto, h.getTotal(),
+                emHoras(h.percentil(0.50)), emHoras(h.percentil(0.90)),
+                emHoras(h.percentil(0.95)), emHoras(h.percentil(0.99)));
+    }
+
+    private static double emHoras(double minutos) {
+        return Math.round(minutos / 60.0 * 100) / 100.0;
+    }
+}
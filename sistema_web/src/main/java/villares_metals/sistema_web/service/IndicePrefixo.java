@@ -0,0 +1,179 @@
+package villares_metals.sistema_web.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+// Índice em memória para sugestões (typeahead) por prefixo.
+// Guarda as chaves normalizadas (minúsculas, sem acento) num mapa ordenado (skip list);
+// a busca posiciona no prefixo e lê em sequência até o limite, sem lock.
+// Gravar um item mexe só nas chaves dele (O(k log n)), sem reordenar o índice inteiro.
+// Quem grava no banco deve chamar atualizarAposCommit/removerAposCommit, para que um
+// rollback não deixe no índice algo que não existe no banco (ou tire algo que existe).
+public class IndicePrefixo<T> {
+
+    // acentos e caracteres invisíveis (que a collation do MySQL ignora)
+    private static final Pattern MARCAS = Pattern.compile("[\\p{M}\\p{Cf}]+");
+    private static final Pattern NAO_DIGITOS = Pattern.compile("\\D+");
+
+    // separa a chave do id na entrada do mapa; menor que qualquer caractere das chaves,
+    // então "aco" + SEPARADOR + id fica antes de "aco inox" + ...
+    private static final char SEPARADOR = '\u0000';
+
+    private final Function<T, Integer> id;
+    private final Function<T, List<String>> chaves;
+    // versão atual de cada item, para saber quais chaves tirar na troca (só com o lock)
+    private final Map<Integer, T> itens = new HashMap<>();
+    // chave + SEPARADOR + id -> item, em ordem de chave
+    private volatile ConcurrentSkipListMap<String, T> entradas = new ConcurrentSkipListMap<>();
+
+    // id: identificador do item; chaves: chaves (já normalizadas) pelas quais o item é encontrado
+    public IndicePrefixo(Function<T, Integer> id, Function<T, List<String>> chaves) {
+        this.id = id;
+        this.chaves = chaves;
+    }
+
+    //substitui todo o conteúdo do índice
+    public synchronized void carregar(Collection<T> todos) {
+        ConcurrentSkipListMap<String, T> novas = new ConcurrentSkipListMap<>();
+        itens.clear();
+        for (T item : todos) {
+            Integer idItem = id.apply(item);
+            itens.put(idItem, item);
+            for (String chave : chavesDe(item)) {
+                novas.put(entrada(chave, idItem), item);
+            }
+        }
+        entradas = novas;
+    }
+
+    //inclui ou substitui um item depois do commit da transação atual
+    public void atualizarAposCommit(T item) {
+        AposCommit.executar(() -> atualizar(item));
+    }
+
+    //retira um item depois do commit da transação atual
+    public void removerAposCommit(Integer idItem) {
+        AposCommit.executar(() -> remover(idItem));
+    }
+
+    //inclui ou substitui um item: as chaves novas entram antes de as antigas saírem,
+    //então uma busca simultânea nunca deixa de achar o item
+    public synchronized void atualizar(T item) {
+        Integer idItem = id.apply(item);
+        Set<String> novas = chavesDe(item);
+        for (String chave : novas) {
+            entradas.put(entrada(chave, idItem), item);
+        }
+        T anterior = itens.put(idItem, item);
+        if (anterior != null) {
+            for (String chave : chavesDe(anterior)) {
+                if (!novas.contains(chave)) {
+                    entradas.remove(entrada(chave, idItem));
+                }
+            }
+        }
+    }
+
+    public synchronized void remover(Integer idItem) {
+        T anterior = itens.remove(idItem);
+        if (anterior != null) {
+            for (String chave : chavesDe(anterior)) {
+                entradas.remove(entrada(chave, idItem));
+            }
+        }
+    }
+
+    // Itens com alguma chave começando pelo prefixo (já normalizado), sem repetição, até o limite
+    public List<T> buscar(String prefixo, int limite) {
+        if (prefixo.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Integer, T> encontrados = new LinkedHashMap<>();
+        for (Map.Entry<String, T> e : entradas.tailMap(prefixo).entrySet()) {
+            if (encontrados.size() >= limite || !e.getKey().startsWith(prefixo)) {
+                break;
+            }
+            encontrados.putIfAbsent(id.apply(e.getValue()), e.getValue());
+        }
+        return new ArrayList<>(encontrados.values());
+    }
+
+    public synchronized int tamanho() {
+        return itens.size();
+    }
+
+    private Set<String> chavesDe(T item) {
+        Set<String> resultado = new HashSet<>();
+        for (String chave : chaves.apply(item)) {
+            if (!chave.isEmpty()) {
+                resultado.add(chave);
+            }
+        }
+        return resultado;
+    }
+
+    private static String entrada(String chave, Integer idItem) {
+        return chave + SEPARADOR + idItem;
+    }
+
+    // --- NORMALIZAÇÃO DAS CHAVES E CONSULTAS ---
+
+    // Minúsculas, sem acentos e com espaços simples: "Aço  Inox" -> "aco inox".
+    // Segue de perto a utf8mb4_0900_ai_ci: decompõe ligaduras (NFKD) e troca as letras
+    // que não se decompõem pelo equivalente da collation (ß = ss, æ = ae, ø = o...)
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcento = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFKD)).replaceAll("");
+        String minusculas = semAcento.toLowerCase(Locale.ROOT);
+        StringBuilder resultado = new StringBuilder(minusculas.length());
+        for (int i = 0; i < minusculas.length(); i++) {
+            char c = minusculas.charAt(i);
+            switch (c) {
+                case 'ß' -> resultado.append("ss");
+                case 'æ' -> resultado.append("ae");
+                case 'œ' -> resultado.append("oe");
+                case 'þ' -> resultado.append("th");
+                case 'ø' -> resultado.append('o');
+                case 'đ', 'ð' -> resultado.append('d');
+                case 'ł' -> resultado.append('l');
+                case 'ħ' -> resultado.append('h');
+                case 'ı' -> resultado.append('i');
+                default -> resultado.append(c);
+            }
+        }
+        return resultado.toString().trim().replaceAll("\\s+", " ");
+    }
+
+    // Só os dígitos, para casar CNPJ com ou sem pontuação
+    public static String somenteDigitos(String texto) {
+        return texto == null ? "" : NAO_DIGITOS.matcher(texto).replaceAll("");
+    }
+
+    // O texto normalizado e cada sufixo que começa numa palavra,
+    // para que "inox" encontre "Aço Inox 304"
+    public static List<String> chavesPorPalavra(String texto) {
+        String normalizado = normalizar(texto);
+        List<String> resultado = new ArrayList<>();
+        if (normalizado.isEmpty()) {
+            return resultado;
+        }
+        resultado.add(normalizado);
+        for (int i = normalizado.indexOf(' '); i >= 0; i = normalizado.indexOf(' ', i + 1)) {
+            resultado.add(normalizado.substring(i + 1));
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,115 @@
+package villares_metals.sistema_web.service;
+
+import jakarta.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.stereotype.Service;
+import villares_metals.sistema_web.domain.Cliente;
+import villares_metals.sistema_web.domain.OrdemServico;
+import villares_metals.sistema_web.domain.Produto;
+import villares_metals.sistema_web.domain.SequenciaMudanca;
+import villares_metals.sistema_web.domain.enums.RecursoMudanca;
+import villares_metals.sistema_web.dto.Mudancas;
+import villares_metals.sistema_web.repository.ClienteRepository;
+import villares_metals.sistema_web.repository.OrdemServicoRepository;
+import villares_metals.sistema_web.repository.ProdutoRepository;
+import villares_metals.sistema_web.repository.RegistroExclusaoRepository;
+import villares_metals.sistema_web.repository.SequenciaMudancaRepository;
+
+// Sincronização incremental das listagens de OS, clientes e produtos.
+// Toda gravação recebe o próximo número da sequência do recurso (seq_mudanca) e toda saída da
+// listagem (exclusão, arquivamento) deixa um registro em registro_exclusao com o seu número.
+// O contador é lido com lock (FOR UPDATE) que só solta no commit: nenhuma transação pega o
+// número seguinte antes da anterior terminar, então quem já viu o número N nunca perde
+// uma linha com número menor que ainda não tinha sido gravada.
+// Por isso o número é tirado por último: a gravação trava e grava as suas linhas antes, e o
+// contador fica preso só pelo carimbo e pelo commit, não pela gravação inteira.
+// Ordem dos locks: as linhas (cliente ou produto, depois ordem_servico, o arquivo e os resumos)
+// antes dos contadores, e entre contadores o de OS antes do de cliente/produto, sem deadlock.
+@Service
+public class MudancaService {
+
+    private final SequenciaMudancaRepository sequenciaRepository;
+    private final RegistroExclusaoRepository registroExclusaoRepository;
+    private final OrdemServicoRepository ordemServicoRepository;
+    private final ClienteRepository clienteRepository;
+    private final ProdutoRepository produtoRepository;
+
+    public MudancaService(
+            SequenciaMudancaRepository sequenciaRepository,
+            RegistroExclusaoRepository registroExclusaoRepository,
+            OrdemServicoRepository ordemServicoRepository,
+            ClienteRepository clienteRepository,
+            ProdutoRepository produtoRepository
+    ) {
+        this.sequenciaRepository = sequenciaRepository;
+        this.registroExclusaoRepository = registroExclusaoRepository;
+        this.ordemServicoRepository = ordemServicoRepository;
+        this.clienteRepository = clienteRepository;
+        this.produtoRepository = produtoRepository;
+    }
+
+    // Próximo número do recurso. Precisa rodar dentro da transação da gravação, depois de as
+    // linhas dela estarem travadas: o que está pendente no contexto é gravado antes do lock
+    public long proximo(RecursoMudanca recurso) {
+        sequenciaRepository.flush();
+        SequenciaMudanca sequencia = sequenciaRepository.findParaAtualizar(recurso.getCodigo());
+        sequencia.setValor(sequencia.getValor() + 1);
+        return sequencia.getValor();
+    }
+
+    public void registrarExclusao(RecursoMudanca recurso, Integer id) {
+        registroExclusaoRepository.registrar(recurso.getCodigo(), id, proximo(recurso), LocalDateTime.now());
+    }
+
+    // Ordens do cliente que vão ser excluídas junto com ele (chamar com elas já travadas, antes dos DELETEs)
+    public void registrarExclusaoOrdensDoCliente(Integer idCliente) {
+        registroExclusaoRepository.registrarOrdensDoCliente(idCliente, proximo(RecursoMudanca.OS), LocalDateTime.now());
+    }
+
+    // Ordens que saíram das tabelas ativas para o arquivo (arquivamento; chamar depois dos DELETEs)
+    public void registrarExclusaoOrdens(List<Integer> ids) {
+        registroExclusaoRepository.registrarOrdens(ids, proximo(RecursoMudanca.OS), LocalDateTime.now());
+    }
+
+    // Cliente alterado: as ordens dele voltam na próxima sincronização de OS
+    public void marcarOrdensDoCliente(Integer idCliente) {
+        ordemServicoRepository.travarOrdensDoCliente(idCliente);
+        ordemServicoRepository.marcarMudancaDoCliente(idCliente, proximo(RecursoMudanca.OS));
+    }
+
+    // Produto alterado: as ordens com ele voltam na próxima sincronização de OS
+    public void marcarOrdensDoProduto(Integer idProduto) {
+        ordemServicoRepository.travarOrdensDoProduto(idProduto);
+        ordemServicoRepository.marcarMudancaDoProduto(idProduto, proximo(RecursoMudanca.OS));
+    }
+
+    // As consultas abaixo leem o contador primeiro, na mesma transação das linhas:
+    // tudo até "ate" já está gravado e aparece na resposta.
+    // desde=0 é a carga completa: traz todas as linhas, inclusive as gravadas por fora da
+    // aplicação com seq_mudanca 0, e nenhuma exclusão (o cliente substitui a lista inteira)
+
+    @Transactional
+    public Mudancas<OrdemServico> mudancasOS(long desde) {
+        long ate = sequenciaRepository.findValor(RecursoMudanca.OS.getCodigo());
+        return new Mudancas<>(ate,
+                ordemServicoRepository.findMudancasDesde(desde > 0 ? desde : -1),
+                desde > 0 ? registroExclusaoRepository.findExcluidosDesde(RecursoMudanca.OS.getCodigo(), desde) : List.of());
+    }
+
+    @Transactional
+    public Mudancas<Cliente> mudancasClientes(long desde) {
+        long ate = sequenciaRepository.findValor(RecursoMudanca.CLIENTE.getCodigo());
+        return new Mudancas<>(ate,
+                clienteRepository.findMudancasDesde(desde > 0 ? desde : -1),
+                desde > 0 ? registroExclusaoRepository.findExcluidosDesde(RecursoMudanca.CLIENTE.getCodigo(), desde) : List.of());
+    }
+
+    @Transactional
+    public Mudancas<Produto> mudancasProdutos(long desde) {
+        long ate = sequenciaRepository.findValor(RecursoMudanca.PRODUTO.getCodigo());
+        return new Mudancas<>(ate,
+                produtoRepository.findMudancasDesde(desde > 0 ? desde : -1),
+                desde > 0 ? registroExclusaoRepository.findExcluidosDesde(RecursoMudanca.PRODUTO.getCodigo(), desde) : List.of());
+    }
+}
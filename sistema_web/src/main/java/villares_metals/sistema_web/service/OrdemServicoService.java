@@ -1,18 +1,24 @@
 package villares_metals.sistema_web.service;
 
-import jakarta.persistence.criteria.Expression;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.transaction.Transactional;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
-import jakarta.persistence.criteria.Predicate;
 import java.time.LocalDateTime;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import villares_metals.sistema_web.domain.OrdemServico;
+import villares_metals.sistema_web.domain.OrdemServicoArquivo;
 import villares_metals.sistema_web.domain.OrdenaProduto;
+import villares_metals.sistema_web.domain.enums.RecursoMudanca;
 import villares_metals.sistema_web.domain.enums.StatusProducao;
+import villares_metals.sistema_web.dto.ContribuicaoResumo;
+import villares_metals.sistema_web.dto.FiltroBusca;
+import villares_metals.sistema_web.dto.Mudancas;
+import villares_metals.sistema_web.repository.BuscaAvancadaRepository;
+import villares_metals.sistema_web.repository.OrdemServicoArquivoRepository;
 import villares_metals.sistema_web.repository.OrdemServicoRepository;
 import villares_metals.sistema_web.repository.OrdenaProdutoRepository;
 import villares_metals.sistema_web.repository.ProdutoRepository;
@@ -23,6 +29,15 @@ public class OrdemServicoService {
     // Repositórios declarados como final
     private final OrdenaProdutoRepository ordenaProdutoRepository;
     private final ProdutoRepository produtoRepository; // Adicionado para buscar Produto
+    private final OrdemServicoArquivoRepository arquivoRepository;
+    private final ArquivamentoService arquivamentoService;
+    private final ResumoOSService resumoOSService;
+    private final ExclusaoService exclusaoService;
+    private final CacheRespostaOS cacheRespostaOS;
+    private final ObjectMapper objectMapper;
+    private final BuscaAvancadaRepository buscaAvancadaRepository;
+    private final HistoricoStatusService historicoStatusService;
+    private final MudancaService mudancaService;
     
     //instancia o repositorio de os
     @Autowired
@@ -31,16 +46,56 @@ public class OrdemServicoService {
     public OrdemServicoService(
             OrdemServicoRepository ordemServicoRepository,
             OrdenaProdutoRepository ordenaProdutoRepository,
-            ProdutoRepository produtoRepository
+            ProdutoRepository produtoRepository,
+            OrdemServicoArquivoRepository arquivoRepository,
+            ArquivamentoService arquivamentoService,
+            ResumoOSService resumoOSService,
+            ExclusaoService exclusaoService,
+            CacheRespostaOS cacheRespostaOS,
+            ObjectMapper objectMapper,
+            BuscaAvancadaRepository buscaAvancadaRepository,
+            HistoricoStatusService historicoStatusService,
+            MudancaService mudancaService
     ) {
         this.ordemServicoRepository = ordemServicoRepository;
         this.ordenaProdutoRepository = ordenaProdutoRepository;
         this.produtoRepository = produtoRepository;
+        this.arquivoRepository = arquivoRepository;
+        this.arquivamentoService = arquivamentoService;
+        this.resumoOSService = resumoOSService;
+        this.exclusaoService = exclusaoService;
+        this.cacheRespostaOS = cacheRespostaOS;
+        this.objectMapper = objectMapper;
+        this.buscaAvancadaRepository = buscaAvancadaRepository;
+        this.historicoStatusService = historicoStatusService;
+        this.mudancaService = mudancaService;
     }
     
-    //recupera os por id
+    //recupera os por id (se não estiver nas tabelas ativas, procura no arquivo)
     public OrdemServico getOS(Integer id) {
-        return ordemServicoRepository.findOSById(id);
+        OrdemServico os = ordemServicoRepository.findOSById(id);
+        if (os == null) {
+            OrdemServicoArquivo arquivada = arquivoRepository.findArquivadaById(id);
+            os = arquivada != null ? arquivada.paraOrdemServico() : null;
+        }
+        return os;
+    }
+    
+    //JSON da OS pronto para envio: vem do cache quando possível, senão lê, serializa e guarda.
+    //Devolve null se a OS não existir
+    public byte[] getOSJson(Integer id) throws JsonProcessingException {
+        byte[] json = cacheRespostaOS.ler(id);
+        if (json != null) {
+            return json;
+        }
+        long geracao = cacheRespostaOS.geracaoAtual();
+        OrdemServico os = getOS(id);
+        if (os == null) {
+            return null;
+        }
+        json = objectMapper.writeValueAsBytes(os);
+        cacheRespostaOS.guardar(id, json, geracao);
+        return json;
     }
     
     //lista todas as os
@@ -48,6 +103,11 @@ public class OrdemServicoService {
         return ordemServicoRepository.findAll();
     }
     
+    //ordens criadas, alteradas ou excluídas depois de "desde" (sincronização incremental)
+    public Mudancas<OrdemServico> mudancasOS(long desde) {
+        return mudancaService.mudancasOS(desde);
+    }
+    
     //salva ou atualiza os no db
      @Transactional
     public OrdemServico postOS(OrdemServico os) {
@@ -63,8 +123,16 @@ public class OrdemServicoService {
             os.setDataAprovacao(java.time.LocalDateTime.now());
         }
 
+        // Estado anterior da OS (se for edição), lido com lock, para mover a ordem nos resumos
+        // e registrar a mudança de status uma vez só
+        ContribuicaoResumo resumoAnterior = os.getIdOS() != null
+                ? ordemServicoRepository.findContribuicaoResumoParaAtualizar(os.getIdOS())
+                : null;
+
         // 2. Salva a OS para garantir que temos um ID
+        os.setSeqMudanca(0L); // provisório, o número de mudança vem no fim (passo 5)
         OrdemServico novaOs = ordemServicoRepository.save(os);
+        cacheRespostaOS.invalidarAposCommit(novaOs.getIdOS());
         
         // 3. Se houver itens, processa e salva cada um
         if (itensTemp != null && !itensTemp.isEmpty()) {
@@ -100,15 +168,26 @@ public class OrdemServicoService {
             novaOs.setItensDoPedido(itensSalvos);
         }
         
+        // 4. Histórico de status e prazos (depois dos itens, que definem os produtos da OS)
+        historicoStatusService.registrarMudanca(
+                novaOs,
+                resumoAnterior != null ? resumoAnterior.statusProducao() : null,
+                novaOs.getStatusProducao() != null ? novaOs.getStatusProducao() : StatusProducao.FILA);
+
+        // 5. Resumos e número de mudança por último: são as linhas disputadas por todas as
+        // gravações (o dia nos resumos e o contador), então ficam travadas só daqui até o commit.
+        // A linha da OS já está travada e gravada (ordem dos locks em MudancaService)
+        resumoOSService.atualizar(resumoAnterior, ContribuicaoResumo.de(novaOs));
+        novaOs.setSeqMudanca(mudancaService.proximo(RecursoMudanca.OS));
+        
         return novaOs;
     }
     
     @Transactional
     public void deleteOS(Integer id) {
-        // Dependendo do Cascade, pode ser necessário deletar os itens antes
-        // Se der erro de FK ao deletar, descomente a linha abaixo:
-        // ordenaProdutoRepository.deleteByOrdemServicoId(id); 
-        ordemServicoRepository.deleteById(id);
+        // Itens e ordem removidos com DELETEs em conjunto (sem carregar a OS), ver ExclusaoService
+        exclusaoService.excluirOS(id);
+        cacheRespostaOS.invalidarAposCommit(id);
     }
     
     // --- MÉTODO DE BUSCA AVANÇADA ---
@@ -125,67 +204,16 @@ public class OrdemServicoService {
             String statusProducao, 
             String descricao
     ) {
-        // Cria a especificação (query dinâmica)
-        Specification<OrdemServico> spec = (root, query, criteriaBuilder) -> {
-            List<Predicate> predicates = new ArrayList<>();
-
-            // CORREÇÃO: Extrair expressões tipadas para ajudar o compilador
-            
-            // 1. Filtro de Datas
-            
-            if (dataInicio != null || dataFim != null) {
-                Expression<LocalDate> dataEntregaPath = root.get("dataEntrega").as(LocalDate.class);
-                
-                if (dataInicio != null) {
-                    predicates.add(criteriaBuilder.greaterThanOrEqualTo(dataEntregaPath, dataInicio));
-                }
-                if (dataFim != null) {
-                    predicates.add(criteriaBuilder.lessThanOrEqualTo(dataEntregaPath, dataFim));
-                }
-            }
-
-            // 2. Filtro de Valores
-            if (valorMin != null || valorMax != null) {
-                Expression<Double> valorPath = root.get("valorServico").as(Double.class);
-                
-                if (valorMin != null) {
-                    predicates.add(criteriaBuilder.greaterThanOrEqualTo(valorPath, valorMin));
-                }
-                if (valorMax != null) {
-                    predicates.add(criteriaBuilder.lessThanOrEqualTo(valorPath, valorMax));
-                }
-            }
+        FiltroBusca filtro = FiltroBusca.de(
+                dataInicio, dataFim, valorMin, valorMax, statusPagamento, statusProducao, descricao);
+        List<OrdemServico> resultados = new ArrayList<>(buscaAvancadaRepository.buscar(filtro));
 
-            // 3. Filtro por Status Pagamento
-            if (statusPagamento != null) {
-                predicates.add(criteriaBuilder.equal(root.get("statusPagamento"), statusPagamento));
+        // As tabelas de arquivo só entram quando o intervalo/filtros podem alcançá-las
+        if (arquivamentoService.buscaAlcancaArquivo(dataInicio, statusPagamento, statusProducao)) {
+            for (OrdemServicoArquivo arquivada : buscaAvancadaRepository.buscarArquivo(filtro)) {
+                resultados.add(arquivada.paraOrdemServico());
             }
-
-            // 4. Filtro por Status Produção (Enum)
-            if (statusProducao != null && !statusProducao.isEmpty()) {
-                try {
-                    StatusProducao status = StatusProducao.valueOf(statusProducao.toUpperCase());
-                    predicates.add(criteriaBuilder.equal(root.get("statusProducao"), status));
-                } catch (IllegalArgumentException e) {
-                    // Ignora status inválido
-                }
-            }
-
-            // 5. Filtro por Descrição
-            if (descricao != null && !descricao.isEmpty()) {
-                // Força o cast para String para evitar ambiguidade
-                Expression<String> descricaoPath = root.get("descricao").as(String.class);
-                predicates.add(criteriaBuilder.like(
-                    criteriaBuilder.lower(descricaoPath), 
-                    "%" + descricao.toLowerCase() + "%"
-                ));
-            }
-
-            // Combina todos os predicados com AND
-            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
-        };
-
-        // Executa a busca usando a especificação criada
-        return ordemServicoRepository.findAll(spec);
+        }
+        return resultados;
     }
 }
\ No newline at end of file
@@ -3,9 +3,18 @@ package villares_metals.sistema_web.service;
 import jakarta.transaction.Transactional;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import villares_metals.sistema_web.repository.OrdemServicoArquivoRepository;
+import villares_metals.sistema_web.repository.OrdenaProdutoRepository;
 import villares_metals.sistema_web.repository.ProdutoRepository;
 import villares_metals.sistema_web.domain.Produto;
+import villares_metals.sistema_web.domain.enums.RecursoMudanca;
+import villares_metals.sistema_web.dto.Mudancas;
+import villares_metals.sistema_web.dto.SugestaoProduto;
 
 @Service
 public class ProdutoService {
@@ -13,9 +22,24 @@ public class ProdutoService {
     //instancia o repositorio de produtos
     @Autowired
     private final ProdutoRepository produtoRepository;
+    private final CacheRespostaOS cacheRespostaOS;
+    private final MudancaService mudancaService;
+    private final OrdenaProdutoRepository ordenaProdutoRepository;
+    private final OrdemServicoArquivoRepository arquivoRepository;
     
-    public ProdutoService(ProdutoRepository produtoRepository) {
+    // índice em memória do seletor de produtos, por palavra do nome
+    private final IndicePrefixo<SugestaoProduto> indiceSugestoes = new IndicePrefixo<>(
+            SugestaoProduto::idProduto,
+            p -> IndicePrefixo.chavesPorPalavra(p.nomeProduto()));
+    
+    public ProdutoService(ProdutoRepository produtoRepository, CacheRespostaOS cacheRespostaOS,
+            MudancaService mudancaService, OrdenaProdutoRepository ordenaProdutoRepository,
+            OrdemServicoArquivoRepository arquivoRepository) {
         this.produtoRepository = produtoRepository;
+        this.cacheRespostaOS = cacheRespostaOS;
+        this.mudancaService = mudancaService;
+        this.ordenaProdutoRepository = ordenaProdutoRepository;
+        this.arquivoRepository = arquivoRepository;
     }
     
     //recupera produto por id
@@ -28,14 +52,52 @@ public class ProdutoService {
         return produtoRepository.findAll();
     }
     
+    //sugestões para o seletor: prefixo de qualquer palavra do nome (sem acento)
+    public List<SugestaoProduto> sugerirProdutos(String termo, int limite) {
+        return indiceSugestoes.buscar(IndicePrefixo.normalizar(termo), limite);
+    }
+    
+    //produtos criados, alterados ou excluídos depois de "desde" (sincronização incremental)
+    public Mudancas<Produto> mudancasProdutos(long desde) {
+        return mudancaService.mudancasProdutos(desde);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarSugestoes() {
+        indiceSugestoes.carregar(produtoRepository.findSugestoes());
+    }
+    
     //salva ou atualiza produto no db
     @Transactional
     public Produto postProduto(Produto produto) {
-        return produtoRepository.save(produto);
+        // o produto aparece nos itens das OS em cache; produto novo ainda não está em nenhuma
+        if (produto.getIdProduto() != null) {
+            cacheRespostaOS.limparAposCommit();
+        }
+        boolean alteracao = produto.getIdProduto() != null;
+        produto.setSeqMudanca(0L); // provisório até o número de mudança, no fim
+        Produto salvo = produtoRepository.save(produto);
+        if (alteracao) {
+            mudancaService.marcarOrdensDoProduto(salvo.getIdProduto());
+        }
+        // número de mudança por último, depois do contador de OS (ordem dos locks em MudancaService)
+        salvo.setSeqMudanca(mudancaService.proximo(RecursoMudanca.PRODUTO));
+        indiceSugestoes.atualizarAposCommit(new SugestaoProduto(salvo.getIdProduto(), salvo.getNomeProduto()));
+        return salvo;
     }
     
+    // Produto usado em alguma OS (ativa ou arquivada) não é excluído: as ordens guardam
+    // a referência ao produto. Responde 409 em vez de estourar a FK no banco
     @Transactional
     public void deleteProduto(Integer id) {
+        long itens = ordenaProdutoRepository.contarItensDoProduto(id) + arquivoRepository.contarItensDoProduto(id);
+        if (itens > 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Produto usado em " + itens + " itens de ordens de serviço (ativas ou arquivadas)");
+        }
         produtoRepository.deleteById(id);
+        mudancaService.registrarExclusao(RecursoMudanca.PRODUTO, id);
+        indiceSugestoes.removerAposCommit(id);
+        cacheRespostaOS.limparAposCommit();
     } 
 }
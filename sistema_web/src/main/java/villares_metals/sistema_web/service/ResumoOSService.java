@@ -0,0 +1,120 @@
+package villares_metals.sistema_web.service;
+
+import jakarta.transaction.Transactional;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import villares_metals.sistema_web.domain.ResumoOS;
+import villares_metals.sistema_web.domain.enums.DimensaoResumo;
+import villares_metals.sistema_web.domain.enums.Granularidade;
+import villares_metals.sistema_web.domain.enums.StatusProducao;
+import villares_metals.sistema_web.dto.ContribuicaoResumo;
+import villares_metals.sistema_web.repository.OrdemServicoArquivoRepository;
+import villares_metals.sistema_web.repository.OrdemServicoRepository;
+import villares_metals.sistema_web.repository.ResumoOSRepository;
+
+// Mantém os resumos de quantidade e valor de OS por período (dia, semana, mês),
+// dimensão (data de aprovação ou de entrega) e status de produção/pagamento.
+// Cada gravação de OS retira a contribuição antiga e soma a nova, na mesma transação,
+// então mudanças de data ou de status movem a ordem de um período para outro.
+@Service
+public class ResumoOSService {
+
+    private final ResumoOSRepository resumoRepository;
+    private final OrdemServicoRepository ordemServicoRepository;
+    private final OrdemServicoArquivoRepository arquivoRepository;
+
+    public ResumoOSService(
+            ResumoOSRepository resumoRepository,
+            OrdemServicoRepository ordemServicoRepository,
+            OrdemServicoArquivoRepository arquivoRepository
+    ) {
+        this.resumoRepository = resumoRepository;
+        this.ordemServicoRepository = ordemServicoRepository;
+        this.arquivoRepository = arquivoRepository;
+    }
+
+    // Períodos por consulta: com 6 combinações de status/pagamento por período, a resposta fica
+    // em poucas centenas de linhas. Granularidade pedida acima do limite responde 400; sem
+    // granularidade pedida vale a menor que cabe (e cada linha traz a granularidade usada)
+    public static final int MAXIMO_PERIODOS = 62;
+
+    //consulta os períodos de um intervalo (granularidade null = escolhida pelo tamanho do intervalo)
+    public List<ResumoOS> consultar(Granularidade granularidade, DimensaoResumo dimensao, LocalDate inicio, LocalDate fim) {
+        Granularidade efetiva = granularidade != null ? granularidade : granularidadeParaIntervalo(inicio, fim);
+        long periodos = efetiva.periodos(inicio, fim);
+        if (periodos > MAXIMO_PERIODOS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O intervalo tem " + periodos
+                    + " períodos em " + efetiva + "; o máximo por consulta é " + MAXIMO_PERIODOS);
+        }
+        return resumoRepository.findPeriodo(
+                efetiva, dimensao, efetiva.inicioPeriodo(inicio), fim);
+    }
+
+    //menor granularidade em que o intervalo cabe no limite (MES se nenhuma couber)
+    public static Granularidade granularidadeParaIntervalo(LocalDate inicio, LocalDate fim) {
+        for (Granularidade granularidade : Granularidade.values()) {
+            if (granularidade.periodos(inicio, fim) <= MAXIMO_PERIODOS) {
+                return granularidade;
+            }
+        }
+        return Granularidade.MES;
+    }
+
+    //soma a contribuição nos resumos
+    public void registrar(ContribuicaoResumo contribuicao) {
+        aplicar(contribuicao, 1);
+    }
+
+    //retira a contribuição dos resumos
+    public void remover(ContribuicaoResumo contribuicao) {
+        aplicar(contribuicao, -1);
+    }
+
+    // Troca a contribuição antiga (null se a OS é nova) pela nova
+    public void atualizar(ContribuicaoResumo anterior, ContribuicaoResumo atual) {
+        if (anterior != null && anterior.equals(atual)) {
+            return;
+        }
+        if (anterior != null) {
+            remover(anterior);
+        }
+        registrar(atual);
+    }
+
+    // Recalcula todos os resumos a partir das tabelas ativas e do arquivo
+    @Transactional
+    public void reconstruir() {
+        resumoRepository.deleteAllInBatch();
+        ordemServicoRepository.findContribuicoesResumoPorDia().forEach(this::registrar);
+        arquivoRepository.findContribuicoesResumoPorDia().forEach(this::registrar);
+    }
+
+    private void aplicar(ContribuicaoResumo contribuicao, int sinal) {
+        StatusProducao status = contribuicao.statusProducao() != null
+                ? contribuicao.statusProducao() : StatusProducao.FILA; // mesmo default da tabela
+        boolean pago = Boolean.TRUE.equals(contribuicao.statusPagamento());
+        long quantidade = sinal * contribuicao.quantidade();
+        double valor = sinal * contribuicao.valor();
+
+        for (DimensaoResumo dimensao : DimensaoResumo.values()) {
+            LocalDate data = dimensao == DimensaoResumo.APROVACAO
+                    ? contribuicao.dataAprovacao() : contribuicao.dataEntrega();
+            if (data == null) {
+                continue;
+            }
+            for (Granularidade granularidade : Granularidade.values()) {
+                resumoRepository.acumular(
+                        granularidade.name(),
+                        dimensao.name(),
+                        granularidade.inicioPeriodo(data),
+                        status.name(),
+                        pago,
+                        quantidade,
+                        valor);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+-- Tabelas e colunas que entraram depois do script_db.txt original: arquivo de ordens,
+-- resumos por período e exclusão lógica. Separadas da V1 para que bancos marcados
+-- como V1 pelo baseline também as recebam.
+
+-- Arquivo de ordens concluídas (PRONTO e pagas), preenchido pelo ArquivamentoService
+
+CREATE TABLE ordem_servico_arquivo(
+    n_os INT PRIMARY KEY,
+    data_entrega DATE NOT NULL,
+    data_aprovacao TIMESTAMP NULL,
+    status_pagamento BOOLEAN DEFAULT FALSE,
+    status_producao ENUM('FILA', 'PRODUCAO', 'PRONTO') NOT NULL,
+    valor_servico DECIMAL(10,2) NOT NULL,
+    descricao_pedido TEXT,
+    id_cliente INT,
+    FOREIGN KEY (id_cliente) REFERENCES dados_cliente(id_cliente)
+);
+
+CREATE INDEX idx_os_arquivo_data_entrega ON ordem_servico_arquivo (data_entrega);
+
+CREATE TABLE ordena_produto_arquivo(
+    id_os INT,
+    id_produto INT,
+    quantidade INT NOT NULL,
+    PRIMARY KEY (id_os, id_produto),
+    FOREIGN KEY (id_os) REFERENCES ordem_servico_arquivo(n_os),
+    FOREIGN KEY (id_produto) REFERENCES produto(id_produto)
+);
+
+-- Resumos por período, dimensão (data usada) e status, mantidos pelo ResumoOSService
+
+CREATE TABLE resumo_os(
+    id_resumo BIGINT PRIMARY KEY AUTO_INCREMENT,
+    granularidade VARCHAR(10) NOT NULL,
+    dimensao VARCHAR(10) NOT NULL,
+    inicio_periodo DATE NOT NULL,
+    status_producao ENUM('FILA', 'PRODUCAO', 'PRONTO') NOT NULL,
+    status_pagamento BOOLEAN NOT NULL,
+    quantidade BIGINT NOT NULL DEFAULT 0,
+    valor_total DECIMAL(14,2) NOT NULL DEFAULT 0,
+    CONSTRAINT uk_resumo_os UNIQUE (granularidade, dimensao, inicio_periodo, status_producao, status_pagamento)
+);
+
+-- Exclusão lógica (exclusao.modo=logica): linhas com excluido_em preenchido ficam fora das consultas
+
+ALTER TABLE dados_cliente ADD COLUMN excluido_em DATETIME NULL;
+ALTER TABLE ordem_servico ADD COLUMN excluido_em DATETIME NULL;
+ALTER TABLE ordem_servico_arquivo ADD COLUMN excluido_em DATETIME NULL;
@@ -0,0 +1,18 @@
+-- Índices das consultas mais frequentes (ver MigracoesTest)
+
+-- /busca por intervalo de entrega (dataEntregaInicio/dataEntregaFim)
+CREATE INDEX idx_os_data_entrega ON ordem_servico (data_entrega);
+
+-- /busca por status de produção (com ou sem intervalo de entrega), fichas do dia
+-- e seleção das ordens arquiváveis
+CREATE INDEX idx_os_status_entrega ON ordem_servico (status_producao, data_entrega);
+
+-- ordens de um cliente (exclusão do cliente e retirada dos resumos)
+CREATE INDEX idx_os_cliente ON ordem_servico (id_cliente);
+
+-- itens de uma OS (carregados junto com cada ordem nas listagens) e ordens de um produto
+CREATE INDEX idx_ordena_produto_os ON ordena_produto (id_os, id_produto);
+CREATE INDEX idx_ordena_produto_produto ON ordena_produto (id_produto);
+
+-- /busca nas ordens arquivadas filtrando por status
+CREATE INDEX idx_os_arquivo_status_entrega ON ordem_servico_arquivo (status_producao, data_entrega);
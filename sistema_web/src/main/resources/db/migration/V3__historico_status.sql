@@ -0,0 +1,24 @@
+-- Histórico das mudanças de status de produção, gravado pelo postOS na mesma transação.
+-- Sem FK para ordem_servico: o histórico continua valendo para ordens arquivadas ou excluídas
+CREATE TABLE historico_status_os(
+    id_historico BIGINT PRIMARY KEY AUTO_INCREMENT,
+    n_os INT NOT NULL,
+    status_anterior ENUM('FILA', 'PRODUCAO', 'PRONTO') NULL,
+    status_novo ENUM('FILA', 'PRODUCAO', 'PRONTO') NOT NULL,
+    mudado_em DATETIME NOT NULL
+);
+
+CREATE INDEX idx_historico_os ON historico_status_os (n_os, mudado_em);
+
+-- Histogramas de prazos (em faixas logarítmicas de minutos) por métrica, mês e produto
+-- (id_produto = 0: todos os produtos). Somar as linhas de vários meses/produtos dá o histograma
+-- do conjunto, de onde saem os percentis (ver HistogramaLog)
+CREATE TABLE histograma_prazo(
+    id_histograma BIGINT PRIMARY KEY AUTO_INCREMENT,
+    metrica VARCHAR(20) NOT NULL,
+    mes DATE NOT NULL,
+    id_produto INT NOT NULL DEFAULT 0,
+    faixa INT NOT NULL,
+    quantidade BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_histograma_prazo UNIQUE (metrica, id_produto, mes, faixa)
+);
@@ -0,0 +1,34 @@
+-- Sincronização incremental (GET /{recurso}/mudancas?desde=): cada gravação recebe o próximo
+-- número da sequência do recurso, e exclusões deixam um registro em registro_exclusao.
+-- A linha do contador fica travada (SELECT ... FOR UPDATE) até o commit, então os números
+-- ficam visíveis na mesma ordem em que foram distribuídos.
+-- As linhas que já existem recebem o número 1 (e os contadores começam nele), para que
+-- a primeira sincronização (desde=0) as traga
+CREATE TABLE sequencia_mudanca(
+    recurso VARCHAR(20) PRIMARY KEY,
+    valor BIGINT NOT NULL
+);
+
+INSERT INTO sequencia_mudanca (recurso, valor) VALUES ('os', 1), ('cliente', 1), ('produto', 1);
+
+ALTER TABLE ordem_servico ADD COLUMN seq_mudanca BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE dados_cliente ADD COLUMN seq_mudanca BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE produto ADD COLUMN seq_mudanca BIGINT NOT NULL DEFAULT 0;
+
+UPDATE ordem_servico SET seq_mudanca = 1;
+UPDATE dados_cliente SET seq_mudanca = 1;
+UPDATE produto SET seq_mudanca = 1;
+
+CREATE INDEX idx_os_seq_mudanca ON ordem_servico (seq_mudanca);
+CREATE INDEX idx_cliente_seq_mudanca ON dados_cliente (seq_mudanca);
+CREATE INDEX idx_produto_seq_mudanca ON produto (seq_mudanca);
+
+CREATE TABLE registro_exclusao(
+    id_registro_exclusao BIGINT PRIMARY KEY AUTO_INCREMENT,
+    recurso VARCHAR(20) NOT NULL,
+    id_excluido INT NOT NULL,
+    seq_mudanca BIGINT NOT NULL,
+    excluido_em DATETIME NOT NULL
+);
+
+CREATE INDEX idx_registro_exclusao_seq ON registro_exclusao (recurso, seq_mudanca);
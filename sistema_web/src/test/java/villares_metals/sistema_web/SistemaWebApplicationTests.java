@@ -2,8 +2,12 @@ package villares_metals.sistema_web;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 
+// Sobe o contexto inteiro com o H2 do perfil "teste" (o Flyway e as cargas em memória
+// precisam de banco na subida)
 @SpringBootTest
+@ActiveProfiles("teste")
 class SistemaWebApplicationTests {
 
 	@Test
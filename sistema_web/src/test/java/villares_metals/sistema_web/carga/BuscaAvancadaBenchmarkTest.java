@@ -0,0 +1,86 @@
+package villares_metals.sistema_web.carga;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import villares_metals.sistema_web.domain.OrdemServico;
+import villares_metals.sistema_web.dto.FiltroBusca;
+import villares_metals.sistema_web.repository.BuscaAntiga;
+import villares_metals.sistema_web.repository.BuscaAvancadaRepository;
+import villares_metals.sistema_web.repository.OrdemServicoRepository;
+
+// Mede, para cada combinação de filtros da /busca, a Specification montada a cada chamada
+// (implementação anterior, em BuscaAntiga) contra as variantes fixas do BuscaAvancadaRepository.
+// Que as duas devolvem as mesmas OS é conferido no BuscaAvancadaRepositoryTest, que roda sempre.
+// Só roda com ./mvnw -Pcarga test.
+@Tag("carga")
+@ActiveProfiles("carga")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BuscaAvancadaBenchmarkTest {
+
+    private static final int AQUECIMENTO = Integer.getInteger("carga.busca.aquecimento", 20);
+    private static final int REPETICOES = Integer.getInteger("carga.busca.repeticoes", 50);
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private OrdemServicoRepository ordemServicoRepository;
+
+    @Autowired
+    private BuscaAvancadaRepository buscaAvancadaRepository;
+
+    @Test
+    void specificationContraVariantesFixas() {
+        new GeradorDadosSinteticos(jdbc, passwordEncoder).gerar();
+        LocalDate hoje = LocalDate.now();
+
+        List<FiltroBusca> combinacoes = List.of(
+                FiltroBusca.de(null, null, null, null, null, "FILA", null),
+                FiltroBusca.de(hoje.minusDays(30), hoje, null, null, null, null, null),
+                FiltroBusca.de(hoje.minusDays(30), null, null, null, null, "PRODUCAO", null),
+                FiltroBusca.de(null, null, 1_000.0, 2_000.0, null, null, null),
+                FiltroBusca.de(null, null, null, null, true, "PRONTO", null),
+                FiltroBusca.de(null, null, null, null, null, null, "têmpera"),
+                FiltroBusca.de(hoje.minusDays(90), hoje, 500.0, 15_000.0, false, "FILA", "aço"));
+
+        System.out.printf("%-10s %8s %14s %14s %14s %14s%n",
+                "máscara", "OS", "spec p50 ms", "spec p95 ms", "fixa p50 ms", "fixa p95 ms");
+        for (FiltroBusca filtro : combinacoes) {
+            int encontradas = buscaAvancadaRepository.buscar(filtro).size();
+            double[] antiga = medir(() -> ordemServicoRepository.findAll(BuscaAntiga.<OrdemServico>filtro(filtro)));
+            double[] fixa = medir(() -> buscaAvancadaRepository.buscar(filtro));
+            System.out.printf("%-10s %8d %14.2f %14.2f %14.2f %14.2f%n",
+                    Integer.toBinaryString(filtro.mascara()), encontradas, antiga[0], antiga[1], fixa[0], fixa[1]);
+        }
+    }
+
+    // p50 e p95 em ms
+    private static double[] medir(Supplier<List<OrdemServico>> busca) {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            busca.get();
+        }
+        long[] tempos = new long[REPETICOES];
+        for (int i = 0; i < REPETICOES; i++) {
+            long inicio = System.nanoTime();
+            busca.get();
+            tempos[i] = System.nanoTime() - inicio;
+        }
+        Arrays.sort(tempos);
+        return new double[]{
+            tempos[(int) Math.ceil(0.50 * REPETICOES) - 1] / 1e6,
+            tempos[(int) Math.ceil(0.95 * REPETICOES) - 1] / 1e6
+        };
+    }
+}
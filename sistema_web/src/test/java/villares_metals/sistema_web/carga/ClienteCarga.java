@@ -0,0 +1,151 @@
+package villares_metals.sistema_web.carga;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+// Gerador de carga em malha aberta: as requisições saem num ritmo fixo, independente
+// de quanto o servidor demora a responder. A latência é medida a partir do instante em
+// que a requisição DEVERIA ter saído, o que corrige a omissão coordenada (quando o
+// servidor trava, as requisições atrasadas contam o tempo de espera).
+public class ClienteCarga {
+
+    // Uma rota exercitada com uma taxa própria (requisições por segundo)
+    public record Cenario(String nome, double taxaPorSegundo, Supplier<HttpRequest> requisicao) {}
+
+    public record Resultado(String nome, long enviadas, long erros, double vazaoPorSegundo,
+            double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+
+        @Override
+        public String toString() {
+            return String.format("%-22s %8d %6d %9.1f %9.1f %9.1f %9.1f %9.1f",
+                    nome, enviadas, erros, vazaoPorSegundo, p50Ms, p95Ms, p99Ms, maxMs);
+        }
+    }
+
+    private final HttpClient http;
+    private final ExecutorService executor;
+
+    public ClienteCarga() {
+        this.executor = criarExecutor();
+        this.http = HttpClient.newBuilder()
+                .executor(executor)
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    // Threads virtuais quando a JVM tem (Java 21+); o projeto compila em Java 17,
+    // por isso o acesso é por reflexão e a alternativa é um pool sem limite
+    private static ExecutorService criarExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    // Roda todos os cenários ao mesmo tempo durante o período e devolve as estatísticas de cada um
+    public List<Resultado> executar(List<Cenario> cenarios, Duration duracao) throws InterruptedException {
+        Map<Cenario, Medicoes> medicoes = new LinkedHashMap<>();
+        List<Thread> despachantes = new ArrayList<>();
+        long inicio = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50);
+        long fim = inicio + duracao.toNanos();
+
+        for (Cenario cenario : cenarios) {
+            Medicoes m = new Medicoes();
+            medicoes.put(cenario, m);
+            Thread t = new Thread(() -> despachar(cenario, m, inicio, fim), "carga-" + cenario.nome());
+            despachantes.add(t);
+            t.start();
+        }
+        for (Thread t : despachantes) {
+            t.join();
+        }
+        // espera as respostas pendentes
+        for (Medicoes m : medicoes.values()) {
+            while (m.pendentes.get() > 0) {
+                Thread.sleep(10);
+            }
+        }
+
+        double segundos = duracao.toNanos() / 1e9;
+        List<Resultado> resultados = new ArrayList<>();
+        medicoes.forEach((cenario, m) -> resultados.add(m.resultado(cenario.nome(), segundos)));
+        return resultados;
+    }
+
+    private void despachar(Cenario cenario, Medicoes m, long inicio, long fim) {
+        long intervalo = (long) (1e9 / cenario.taxaPorSegundo());
+        for (long previsto = inicio; previsto < fim; previsto += intervalo) {
+            long espera = previsto - System.nanoTime();
+            if (espera > 0) {
+                LockSupport.parkNanos(espera);
+            }
+            long instantePrevisto = previsto;
+            m.pendentes.incrementAndGet();
+            http.sendAsync(cenario.requisicao().get(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((resposta, erro) -> {
+                        long latencia = System.nanoTime() - instantePrevisto;
+                        boolean falhou = erro != null || resposta.statusCode() >= 400;
+                        m.registrar(latencia, falhou);
+                        m.pendentes.decrementAndGet();
+                    });
+        }
+    }
+
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    public static String cabecalho() {
+        return String.format("%-22s %8s %6s %9s %9s %9s %9s %9s",
+                "endpoint", "req", "erros", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+    }
+
+    // Latências de um cenário (em ns); os percentis são calculados ordenando ao final
+    private static class Medicoes {
+        private long[] latencias = new long[1024];
+        private int total;
+        private long erros;
+        private final AtomicLong pendentes = new AtomicLong();
+
+        synchronized void registrar(long latenciaNanos, boolean falhou) {
+            if (total == latencias.length) {
+                latencias = Arrays.copyOf(latencias, total * 2);
+            }
+            latencias[total++] = latenciaNanos;
+            if (falhou) {
+                erros++;
+            }
+        }
+
+        synchronized Resultado resultado(String nome, double segundos) {
+            long[] ordenadas = Arrays.copyOf(latencias, total);
+            Arrays.sort(ordenadas);
+            return new Resultado(nome, total, erros, (total - erros) / segundos,
+                    percentil(ordenadas, 0.50), percentil(ordenadas, 0.95),
+                    percentil(ordenadas, 0.99), percentil(ordenadas, 1.0));
+        }
+
+        private static double percentil(long[] ordenadas, double p) {
+            if (ordenadas.length == 0) {
+                return 0;
+            }
+            int i = (int) Math.ceil(p * ordenadas.length) - 1;
+            return ordenadas[Math.max(0, i)] / 1e6;
+        }
+    }
+}
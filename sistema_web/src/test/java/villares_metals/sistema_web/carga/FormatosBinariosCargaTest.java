@@ -0,0 +1,204 @@
+package villares_metals.sistema_web.carga;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import villares_metals.sistema_web.service.ClienteService;
+import villares_metals.sistema_web.service.OrdemServicoService;
+import villares_metals.sistema_web.service.ProdutoService;
+
+// Compara JSON, CBOR e Smile nas listagens sobre os dados do GeradorDadosSinteticos:
+// bytes da resposta (crua e em gzip), tempo de escrita no servidor (mappers dos conversores do
+// Spring MVC) e tempo de leitura no cliente. Também confere que as três respostas HTTP têm o mesmo
+// conteúdo e que */* continua em JSON. Só roda com ./mvnw -Pcarga test.
+@Tag("carga")
+@ActiveProfiles("carga")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class FormatosBinariosCargaTest {
+
+    private static final int REPETICOES = Integer.getInteger("carga.formatos.repeticoes", 30);
+
+    private static final List<String> FORMATOS =
+            List.of("application/json", "application/cbor", "application/x-jackson-smile");
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private OrdemServicoService ordemServicoService;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void tamanhoETempoPorFormato() throws Exception {
+        GeradorDadosSinteticos gerador = new GeradorDadosSinteticos(jdbc, passwordEncoder);
+        gerador.gerar();
+        String autorizacao = "Basic " + Base64.getEncoder().encodeToString(
+                (gerador.usernameFuncionario(1) + ":" + GeradorDadosSinteticos.SENHA_FUNCIONARIOS)
+                        .getBytes(StandardCharsets.UTF_8));
+
+        System.out.printf("%-24s %-28s %12s %12s %12s %14s%n",
+                "endpoint", "formato", "bytes", "gzip", "escrita ms", "leitura ms");
+        for (String caminho : List.of("/os", "/busca?statusProducao=FILA", "/clientes", "/produtos")) {
+            JsonNode referencia = null;
+            for (String formato : FORMATOS) {
+                HttpResponse<byte[]> resposta = get(caminho, autorizacao, formato, null);
+                assertEquals(200, resposta.statusCode(), caminho + " " + formato);
+                assertTrue(resposta.headers().firstValue("Content-Type").orElse("").startsWith(formato),
+                        caminho + ": Content-Type " + resposta.headers().firstValue("Content-Type").orElse(""));
+                byte[] corpo = resposta.body();
+
+                ObjectMapper leitor = leitor(formato);
+                JsonNode arvore = leitor.readTree(corpo);
+                if (referencia == null) {
+                    referencia = arvore;
+                } else {
+                    assertEquals(referencia, arvore, caminho + ": " + formato + " difere do JSON");
+                }
+
+                HttpResponse<byte[]> comprimida = get(caminho, autorizacao, formato, "gzip");
+                long bytesGzip = comprimida.headers().firstValue("Content-Encoding").orElse("").equals("gzip")
+                        ? comprimida.body().length
+                        : gzip(corpo);
+
+                double escrita = medirEscrita(caminho, mapperDoServidor(formato));
+                double leitura = medir(() -> leitor.readTree(corpo));
+                System.out.printf("%-24s %-28s %12d %12d %12.2f %14.2f%n",
+                        caminho, formato, corpo.length, bytesGzip, escrita, leitura);
+            }
+        }
+
+        // sem Accept específico a resposta continua JSON, e listas grandes saem comprimidas
+        HttpResponse<byte[]> padrao = get("/os", autorizacao, "*/*", "gzip");
+        assertTrue(padrao.headers().firstValue("Content-Type").orElse("").startsWith("application/json"));
+        assertEquals("gzip", padrao.headers().firstValue("Content-Encoding").orElse(""));
+    }
+
+    private HttpResponse<byte[]> get(String caminho, String autorizacao, String accept, String encoding)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho))
+                .header("Authorization", autorizacao)
+                .header("Accept", accept)
+                .timeout(Duration.ofSeconds(60))
+                .GET();
+        if (encoding != null) {
+            requisicao.header("Accept-Encoding", encoding);
+        }
+        return http.send(requisicao.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    // mapper que o Spring MVC usa de fato para escrever o formato
+    private ObjectMapper mapperDoServidor(String formato) {
+        for (HttpMessageConverter<?> conversor : handlerAdapter.getMessageConverters()) {
+            if (conversor instanceof AbstractJackson2HttpMessageConverter jackson
+                    && jackson.getSupportedMediaTypes().stream().anyMatch(t -> t.toString().equals(formato))) {
+                return jackson.getObjectMapper();
+            }
+        }
+        throw new IllegalStateException("Sem conversor para " + formato);
+    }
+
+    private static ObjectMapper leitor(String formato) {
+        return switch (formato) {
+            case "application/cbor" -> new CBORMapper();
+            case "application/x-jackson-smile" -> new SmileMapper();
+            default -> new JsonMapper();
+        };
+    }
+
+    // escreve a mesma lista que o endpoint devolve, dentro de uma transação (associações lazy carregáveis).
+    // A /busca fica só com tamanho e leitura (NaN na escrita)
+    private double medirEscrita(String caminho, ObjectMapper mapper) {
+        return transactionTemplate.execute(status -> {
+            Object lista = switch (caminho.startsWith("/busca") ? "/busca" : caminho) {
+                case "/os" -> ordemServicoService.listarOS();
+                case "/clientes" -> clienteService.listarClientes();
+                case "/produtos" -> produtoService.listarProdutos();
+                default -> null;
+            };
+            if (lista == null) {
+                return Double.NaN;
+            }
+            return medir(() -> mapper.writeValue(OutputStream.nullOutputStream(), lista));
+        });
+    }
+
+    private interface Tarefa {
+        void executar() throws IOException;
+    }
+
+    // mediana em ms, depois de um aquecimento do mesmo tamanho
+    private static double medir(Tarefa tarefa) {
+        double[] tempos = new double[REPETICOES];
+        try {
+            for (int i = 0; i < REPETICOES; i++) {
+                tarefa.executar();
+            }
+            for (int i = 0; i < REPETICOES; i++) {
+                long inicio = System.nanoTime();
+                tarefa.executar();
+                tempos[i] = (System.nanoTime() - inicio) / 1e6;
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        Arrays.sort(tempos);
+        return tempos[tempos.length / 2];
+    }
+
+    private static long gzip(byte[] dados) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(dados);
+        }
+        return saida.size();
+    }
+}
@@ -0,0 +1,200 @@
+package villares_metals.sistema_web.carga;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.DatabaseMetaData;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import villares_metals.sistema_web.domain.enums.StatusProducao;
+
+// Popula o banco embarcado (ou um MySQL indicado por -Dspring.datasource.*) com dados
+// sintéticos para os testes de carga.
+// Os volumes vêm de propriedades de sistema (-Dcarga.clientes=... etc.) e a semente é fixa,
+// então duas execuções com os mesmos parâmetros geram o mesmo conjunto de dados.
+public class GeradorDadosSinteticos {
+
+    public static final String SENHA_FUNCIONARIOS = "carga123";
+
+    // Distribuição da quantidade de itens por OS: peso de 1, 2, 3, ... itens
+    private static final int[] PESOS_ITENS = {45, 25, 13, 7, 4, 2, 1, 1, 1, 1};
+
+    private static final String[] PALAVRAS_CLIENTE = {
+        "Metalúrgica", "Usinagem", "Ferramentaria", "Indústria", "Caldeiraria", "Forjaria",
+        "São", "João", "Paulo", "Açoforte", "Brasil", "Sul", "Norte", "Técnica", "Precisão"
+    };
+    private static final String[] PALAVRAS_PRODUTO = {
+        "Barra", "Chapa", "Eixo", "Tubo", "Anel", "Bucha", "Flange", "Engrenagem",
+        "Aço", "Inox", "VH13", "VP20", "H13", "D2", "Têmpera", "Revenido", "Nitretação"
+    };
+
+    public final int clientes = Integer.getInteger("carga.clientes", 2_000);
+    public final int produtos = Integer.getInteger("carga.produtos", 5_000);
+    public final int ordens = Integer.getInteger("carga.ordens", 20_000);
+    public final int funcionarios = Integer.getInteger("carga.funcionarios", 20);
+
+    private final JdbcTemplate jdbc;
+    private final PasswordEncoder passwordEncoder;
+    private final Random random = new Random(42);
+
+    public GeradorDadosSinteticos(JdbcTemplate jdbc, PasswordEncoder passwordEncoder) {
+        this.jdbc = jdbc;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    // Testes de carga diferentes compartilham o mesmo H2 em memória: só popula uma vez
+    public void gerar() {
+        Integer existentes = jdbc.queryForObject("SELECT COUNT(*) FROM dados_cliente", Integer.class);
+        if (existentes != null && existentes > 0) {
+            return;
+        }
+        gerarClientes();
+        gerarProdutos();
+        gerarOrdens();
+        gerarFuncionarios();
+        numerarMudancas();
+    }
+
+    public String usernameFuncionario(int i) {
+        return "funcionario" + i;
+    }
+
+    // Sorteia a quantidade de itens seguindo PESOS_ITENS
+    public int sortearQuantidadeItens() {
+        int total = 0;
+        for (int peso : PESOS_ITENS) {
+            total += peso;
+        }
+        int sorteio = random.nextInt(total);
+        for (int i = 0; i < PESOS_ITENS.length; i++) {
+            sorteio -= PESOS_ITENS[i];
+            if (sorteio < 0) {
+                return i + 1;
+            }
+        }
+        return 1;
+    }
+
+    public Random getRandom() {
+        return random;
+    }
+
+    private void gerarClientes() {
+        List<Object[]> linhas = new ArrayList<>();
+        for (int id = 1; id <= clientes; id++) {
+            linhas.add(new Object[]{
+                id,
+                nome(PALAVRAS_CLIENTE, 3) + " Ltda",
+                String.format("%02d.%03d.%03d/0001-%02d", random.nextInt(100), random.nextInt(1000), random.nextInt(1000), random.nextInt(100)),
+                String.format("(11) 9%04d-%04d", random.nextInt(10000), random.nextInt(10000)),
+                "contato" + id + "@cliente.com.br"
+            });
+        }
+        jdbc.batchUpdate("INSERT INTO dados_cliente (id_cliente, nome_cliente, cnpj_cliente, telefone_cliente, email_cliente)"
+                + " VALUES (?, ?, ?, ?, ?)", linhas);
+    }
+
+    private void gerarProdutos() {
+        List<Object[]> linhas = new ArrayList<>();
+        for (int id = 1; id <= produtos; id++) {
+            linhas.add(new Object[]{
+                id,
+                nome(PALAVRAS_PRODUTO, 3) + " " + id,
+                String.valueOf(1 + random.nextInt(500)),
+                String.valueOf(1 + random.nextInt(500))
+            });
+        }
+        jdbc.batchUpdate("INSERT INTO produto (id_produto, nome_produto, peso_entrada, peso_saida) VALUES (?, ?, ?, ?)", linhas);
+    }
+
+    private void gerarOrdens() {
+        StatusProducao[] status = StatusProducao.values();
+        LocalDate hoje = LocalDate.now();
+        List<Object[]> linhasOS = new ArrayList<>();
+        List<Object[]> linhasItens = new ArrayList<>();
+        for (int id = 1; id <= ordens; id++) {
+            LocalDateTime aprovacao = hoje.minusDays(random.nextInt(730)).atTime(8 + random.nextInt(10), random.nextInt(60));
+            LocalDate entrega = aprovacao.toLocalDate().plusDays(3 + random.nextInt(45));
+            BigDecimal valor = BigDecimal.valueOf(50 + random.nextDouble() * 20_000).setScale(2, RoundingMode.HALF_UP);
+            linhasOS.add(new Object[]{
+                id,
+                Date.valueOf(entrega),
+                Timestamp.valueOf(aprovacao),
+                random.nextInt(10) < 6,
+                status[random.nextInt(status.length)].name(),
+                valor,
+                "Serviço de " + nome(PALAVRAS_PRODUTO, 2).toLowerCase(),
+                1 + random.nextInt(clientes)
+            });
+            for (int idProduto : produtosDistintos(sortearQuantidadeItens())) {
+                linhasItens.add(new Object[]{id, idProduto, 1 + random.nextInt(20)});
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO ordem_servico (n_os, data_entrega, data_aprovacao, status_pagamento, status_producao,"
+                + " valor_servico, descricao_pedido, id_cliente) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", linhasOS);
+        jdbc.batchUpdate("INSERT INTO ordena_produto (id_os, id_produto, quantidade) VALUES (?, ?, ?)", linhasItens);
+        // as próximas OS criadas via POST continuam a numeração (no MySQL o AUTO_INCREMENT já
+        // avança sozinho depois dos ids explícitos; só o H2 precisa do RESTART)
+        if (isH2()) {
+            jdbc.execute("ALTER TABLE ordem_servico ALTER COLUMN n_os RESTART WITH " + (ordens + 1));
+            jdbc.execute("ALTER TABLE dados_cliente ALTER COLUMN id_cliente RESTART WITH " + (clientes + 1));
+            jdbc.execute("ALTER TABLE produto ALTER COLUMN id_produto RESTART WITH " + (produtos + 1));
+        }
+    }
+
+    private boolean isH2() {
+        try {
+            return "H2".equals(JdbcUtils.extractDatabaseMetaData(jdbc.getDataSource(), DatabaseMetaData::getDatabaseProductName));
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Linhas gravadas por fora da aplicação entram na sincronização incremental como as
+    // que já existiam na migração V4: número 1 e contadores a partir dele
+    private void numerarMudancas() {
+        for (String tabela : List.of("ordem_servico", "dados_cliente", "produto")) {
+            jdbc.update("UPDATE " + tabela + " SET seq_mudanca = 1 WHERE seq_mudanca = 0");
+        }
+        jdbc.update("UPDATE sequencia_mudanca SET valor = 1 WHERE valor = 0");
+    }
+
+    private void gerarFuncionarios() {
+        // BCrypt de verdade (mesmo custo da aplicação), já que toda requisição autenticada o verifica
+        String hash = passwordEncoder.encode(SENHA_FUNCIONARIOS);
+        List<Object[]> linhas = new ArrayList<>();
+        for (int i = 1; i <= funcionarios; i++) {
+            linhas.add(new Object[]{usernameFuncionario(i), hash});
+        }
+        jdbc.batchUpdate("INSERT INTO funcionario (username, senha_hash) VALUES (?, ?)", linhas);
+    }
+
+    public Set<Integer> produtosDistintos(int quantidade) {
+        Set<Integer> ids = new LinkedHashSet<>();
+        while (ids.size() < Math.min(quantidade, produtos)) {
+            ids.add(1 + random.nextInt(produtos));
+        }
+        return ids;
+    }
+
+    private String nome(String[] palavras, int quantidade) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < quantidade; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(palavras[random.nextInt(palavras.length)]);
+        }
+        return sb.toString();
+    }
+}
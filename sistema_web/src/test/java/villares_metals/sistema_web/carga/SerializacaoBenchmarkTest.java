@@ -0,0 +1,142 @@
+package villares_metals.sistema_web.carga;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import villares_metals.sistema_web.config.EntidadesModule;
+import villares_metals.sistema_web.domain.Cliente;
+import villares_metals.sistema_web.domain.OrdemServico;
+import villares_metals.sistema_web.domain.OrdenaProduto;
+import villares_metals.sistema_web.domain.Produto;
+import villares_metals.sistema_web.domain.enums.StatusProducao;
+
+// Serializa a mesma resposta de /os (lista de OS com cliente, itens e produtos) com o Jackson padrão
+// e com o EntidadesModule, para um stream descartado. Mede respostas por segundo e bytes alocados
+// por resposta na thread. Não precisa de contexto Spring nem de banco. Só roda com ./mvnw -Pcarga test.
+@Tag("carga")
+class SerializacaoBenchmarkTest {
+
+    private static final int ORDENS = Integer.getInteger("carga.serializacao.ordens", 2_000);
+    private static final int AQUECIMENTO = Integer.getInteger("carga.serializacao.aquecimento", 200);
+    private static final int REPETICOES = Integer.getInteger("carga.serializacao.repeticoes", 500);
+
+    @Test
+    void padraoContraEntidadesModule() throws IOException {
+        List<OrdemServico> resposta = respostaSintetica(new Random(42));
+        ObjectMapper padrao = mapper(false);
+        ObjectMapper otimizado = mapper(true);
+
+        byte[] json = padrao.writeValueAsBytes(resposta);
+        assertArrayEquals(json, otimizado.writeValueAsBytes(resposta), "JSON diferente do Jackson padrão");
+
+        System.out.printf("%d OS, %d bytes por resposta%n", ORDENS, json.length);
+        System.out.printf("%-16s %14s %18s%n", "serializador", "respostas/s", "KB alocados/resp");
+        imprimir("padrão", medir(padrao, resposta));
+        imprimir("EntidadesModule", medir(otimizado, resposta));
+    }
+
+    private static ObjectMapper mapper(boolean comEntidadesModule) {
+        JsonMapper.Builder builder = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .addModule(new Hibernate6Module())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET); // o descarte é reaproveitado entre as escritas
+        if (comEntidadesModule) {
+            builder.addModule(new EntidadesModule());
+        }
+        return builder.build();
+    }
+
+    // [respostas por segundo, bytes alocados por resposta]
+    private static double[] medir(ObjectMapper mapper, List<OrdemServico> resposta) throws IOException {
+        OutputStream descarte = OutputStream.nullOutputStream();
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            mapper.writeValue(descarte, resposta);
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long alocadoAntes = threads.getThreadAllocatedBytes(thread);
+        long inicio = System.nanoTime();
+        for (int i = 0; i < REPETICOES; i++) {
+            mapper.writeValue(descarte, resposta);
+        }
+        long nanos = System.nanoTime() - inicio;
+        long alocado = threads.getThreadAllocatedBytes(thread) - alocadoAntes;
+        return new double[] {REPETICOES * 1e9 / nanos, (double) alocado / REPETICOES};
+    }
+
+    private static void imprimir(String nome, double[] medida) {
+        System.out.printf("%-16s %14.1f %18.1f%n", nome, medida[0], medida[1] / 1024);
+    }
+
+    // mesmo formato dos dados do GeradorDadosSinteticos, montado em memória
+    private static List<OrdemServico> respostaSintetica(Random random) {
+        List<Cliente> clientes = new ArrayList<>();
+        for (int i = 1; i <= Math.max(1, ORDENS / 20); i++) {
+            Cliente cliente = new Cliente();
+            cliente.setIdCliente(i);
+            cliente.setNomeCliente("Cliente Sintético " + i);
+            cliente.setCnpjCliente(String.format("%014d", 10_000_000_000_000L + i));
+            cliente.setTelefoneCliente("(19) 9" + (10_000_000 + i));
+            cliente.setEmailCliente("cliente" + i + "@carga.local");
+            cliente.setSeqMudanca((long) i);
+            clientes.add(cliente);
+        }
+        List<Produto> produtos = new ArrayList<>();
+        for (int i = 1; i <= 200; i++) {
+            Produto produto = new Produto();
+            produto.setIdProduto(i);
+            produto.setNomeProduto("Produto Sintético " + i);
+            produto.setPesoEntrada(String.valueOf(1 + random.nextInt(500)));
+            produto.setPesoSaida(String.valueOf(1 + random.nextInt(500)));
+            produto.setSeqMudanca((long) i);
+            produtos.add(produto);
+        }
+        StatusProducao[] status = StatusProducao.values();
+        LocalDate hoje = LocalDate.now();
+        List<OrdemServico> ordens = new ArrayList<>();
+        for (int i = 1; i <= ORDENS; i++) {
+            OrdemServico os = new OrdemServico();
+            os.setIdOS(i);
+            os.setDescricao("Ordem sintética " + i);
+            os.setDataEntrega(hoje.plusDays(random.nextInt(120) - 60));
+            os.setDataAprovacao(LocalDateTime.of(hoje.minusDays(random.nextInt(90)), LocalTime.of(random.nextInt(24), random.nextInt(60))));
+            os.setStatusPagamento(random.nextBoolean());
+            os.setStatusProducao(status[random.nextInt(status.length)]);
+            os.setValorServico(Math.round(random.nextDouble() * 2_000_000) / 100.0);
+            os.setCliente(clientes.get(random.nextInt(clientes.size())));
+            os.setSeqMudanca((long) i);
+            List<OrdenaProduto> itens = new ArrayList<>();
+            int quantidadeItens = 1 + random.nextInt(4);
+            for (int j = 0; j < quantidadeItens; j++) {
+                Produto produto = produtos.get((i * 7 + j * 13) % produtos.size());
+                OrdenaProduto item = new OrdenaProduto();
+                item.getId().setOs(i);
+                item.getId().setProduto(produto.getIdProduto());
+                item.setOrdemServico(os);
+                item.setProduto(produto);
+                item.setQuantidade(1 + random.nextInt(50));
+                itens.add(item);
+            }
+            os.setItensDoPedido(itens);
+            ordens.add(os);
+        }
+        return ordens;
+    }
+}
@@ -0,0 +1,75 @@
+package villares_metals.sistema_web.carga;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import villares_metals.sistema_web.dto.SugestaoProduto;
+import villares_metals.sistema_web.service.IndicePrefixo;
+
+// Latência do índice de sugestões (typeahead) com um catálogo grande em memória:
+// busca por prefixo de 1 a 4 letras e gravação de um item. O seletor promete resposta
+// abaixo de 1 ms no servidor. Só roda com ./mvnw -Pcarga test.
+@Tag("carga")
+class SugestoesBenchmarkTest {
+
+    private static final int ITENS = Integer.getInteger("carga.sugestoes.itens", 100_000);
+    private static final int REPETICOES = Integer.getInteger("carga.sugestoes.repeticoes", 20_000);
+
+    private static final String[] PALAVRAS = {"aco", "inox", "barra", "chapa", "tubo", "perfil", "redondo",
+        "quadrado", "laminado", "trefilado", "temperado", "forjado", "cementado", "fundido", "usinado"};
+
+    @Test
+    void buscaEGravacao() {
+        Random random = new Random(42);
+        IndicePrefixo<SugestaoProduto> indice = new IndicePrefixo<>(
+                SugestaoProduto::idProduto,
+                p -> IndicePrefixo.chavesPorPalavra(p.nomeProduto()));
+        List<SugestaoProduto> catalogo = new ArrayList<>();
+        for (int i = 1; i <= ITENS; i++) {
+            catalogo.add(new SugestaoProduto(i, nome(random, i)));
+        }
+        long inicioCarga = System.nanoTime();
+        indice.carregar(catalogo);
+        System.out.printf("Carga de %d itens: %d ms%n", ITENS, (System.nanoTime() - inicioCarga) / 1_000_000);
+
+        double[] busca = new double[REPETICOES];
+        double[] gravacao = new double[REPETICOES];
+        for (int rodada = 0; rodada < 2; rodada++) { // a primeira rodada é aquecimento
+            for (int i = 0; i < REPETICOES; i++) {
+                String palavra = PALAVRAS[random.nextInt(PALAVRAS.length)];
+                String prefixo = palavra.substring(0, 1 + random.nextInt(Math.min(4, palavra.length())));
+                long inicio = System.nanoTime();
+                indice.buscar(prefixo, 10);
+                busca[i] = (System.nanoTime() - inicio) / 1e6;
+
+                int id = 1 + random.nextInt(ITENS);
+                inicio = System.nanoTime();
+                indice.atualizar(new SugestaoProduto(id, nome(random, id)));
+                gravacao[i] = (System.nanoTime() - inicio) / 1e6;
+            }
+        }
+        Arrays.sort(busca);
+        Arrays.sort(gravacao);
+        System.out.printf("%-10s %10s %10s %10s%n", "operação", "p50 ms", "p99 ms", "máx ms");
+        System.out.printf("%-10s %10.4f %10.4f %10.4f%n", "busca", p(busca, 0.50), p(busca, 0.99), busca[busca.length - 1]);
+        System.out.printf("%-10s %10.4f %10.4f %10.4f%n", "gravação", p(gravacao, 0.50), p(gravacao, 0.99),
+                gravacao[gravacao.length - 1]);
+
+        assertTrue(p(busca, 0.99) < 1.0, "p99 da busca acima de 1 ms");
+        assertTrue(p(gravacao, 0.99) < 1.0, "p99 da gravação acima de 1 ms");
+    }
+
+    private static String nome(Random random, int i) {
+        return PALAVRAS[random.nextInt(PALAVRAS.length)] + " " + PALAVRAS[random.nextInt(PALAVRAS.length)]
+                + " " + PALAVRAS[random.nextInt(PALAVRAS.length)] + " " + i;
+    }
+
+    private static double p(double[] ordenados, double percentil) {
+        return ordenados[(int) Math.min(ordenados.length - 1, Math.floor(percentil * ordenados.length))];
+    }
+}
@@ -0,0 +1,129 @@
+package villares_metals.sistema_web.carga;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.StringJoiner;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+// Teste de carga offline: sobe a aplicação inteira numa porta aleatória com H2 (perfil "carga"),
+// popula o banco com GeradorDadosSinteticos e dispara tráfego HTTP Basic de verdade nos endpoints.
+// Só roda com ./mvnw -Pcarga test. Parâmetros (-D): carga.taxa (req/s no GET /os, os demais são
+// proporcionais), carga.duracao e carga.aquecimento (segundos), carga.cenarios (nomes separados
+// por vírgula, ex.: "POST /os" para medir só as gravações concorrentes), além dos volumes do gerador.
+@Tag("carga")
+@ActiveProfiles("carga")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TesteCargaTest {
+
+    private static final double ERRO_MAXIMO = 0.01;
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void cargaMista() throws InterruptedException {
+        GeradorDadosSinteticos gerador = new GeradorDadosSinteticos(jdbc, passwordEncoder);
+        long inicioGeracao = System.nanoTime();
+        gerador.gerar();
+        System.out.printf("Dados sintéticos: %d clientes, %d produtos, %d OS, %d funcionários em %d ms%n",
+                gerador.clientes, gerador.produtos, gerador.ordens, gerador.funcionarios,
+                (System.nanoTime() - inicioGeracao) / 1_000_000);
+
+        double taxa = Double.parseDouble(System.getProperty("carga.taxa", "20"));
+        Duration duracao = Duration.ofSeconds(Long.getLong("carga.duracao", 30));
+        Duration aquecimento = Duration.ofSeconds(Long.getLong("carga.aquecimento", 10));
+
+        String base = "http://localhost:" + porta;
+        String autorizacao = "Basic " + Base64.getEncoder().encodeToString(
+                (gerador.usernameFuncionario(1) + ":" + GeradorDadosSinteticos.SENHA_FUNCIONARIOS)
+                        .getBytes(StandardCharsets.UTF_8));
+        String dataBusca = LocalDate.now().minusDays(30).toString();
+
+        List<ClienteCarga.Cenario> todos = List.of(
+                new ClienteCarga.Cenario("GET /os", taxa,
+                        () -> get(base + "/os", autorizacao)),
+                new ClienteCarga.Cenario("GET /busca", taxa,
+                        () -> get(base + "/busca?statusProducao=FILA&dataEntregaInicio=" + dataBusca, autorizacao)),
+                new ClienteCarga.Cenario("POST /os", taxa / 2,
+                        () -> post(base + "/os", autorizacao, novaOS(gerador))),
+                new ClienteCarga.Cenario("GET /clientes", taxa / 2,
+                        () -> get(base + "/clientes", autorizacao)));
+        String escolhidos = System.getProperty("carga.cenarios", "");
+        List<ClienteCarga.Cenario> cenarios = escolhidos.isBlank() ? todos : todos.stream()
+                .filter(c -> Arrays.stream(escolhidos.split(",")).map(String::trim).anyMatch(c.nome()::equals))
+                .toList();
+        assertTrue(!cenarios.isEmpty(), "Nenhum cenário com os nomes " + escolhidos);
+
+        ClienteCarga cliente = new ClienteCarga();
+        try {
+            // aquecimento: JIT, pool de conexões e caches; os números são descartados
+            cliente.executar(cenarios, aquecimento);
+            List<ClienteCarga.Resultado> resultados = cliente.executar(cenarios, duracao);
+
+            System.out.println(ClienteCarga.cabecalho());
+            resultados.forEach(System.out::println);
+
+            for (ClienteCarga.Resultado r : resultados) {
+                assertTrue(r.enviadas() > 0, r.nome() + " não enviou requisições");
+                assertTrue(r.erros() <= r.enviadas() * ERRO_MAXIMO,
+                        r.nome() + ": " + r.erros() + " erros em " + r.enviadas() + " requisições");
+            }
+        } finally {
+            cliente.encerrar();
+        }
+    }
+
+    private static HttpRequest get(String url, String autorizacao) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", autorizacao)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private static HttpRequest post(String url, String autorizacao, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", autorizacao)
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    // Corpo de uma OS nova no mesmo formato que o frontend envia
+    private static String novaOS(GeradorDadosSinteticos gerador) {
+        StringJoiner itens = new StringJoiner(",", "[", "]");
+        for (int idProduto : gerador.produtosDistintos(gerador.sortearQuantidadeItens())) {
+            itens.add("{\"produto\":{\"idProduto\":" + idProduto + "},\"quantidade\":"
+                    + (1 + gerador.getRandom().nextInt(20)) + "}");
+        }
+        int idCliente = 1 + gerador.getRandom().nextInt(gerador.clientes);
+        LocalDate entrega = LocalDate.now().plusDays(3 + gerador.getRandom().nextInt(45));
+        return "{\"descricao\":\"Carga sintética\",\"dataEntrega\":\"" + entrega + "\","
+                + "\"statusPagamento\":false,\"statusProducao\":\"FILA\","
+                + "\"valorServico\":" + (100 + gerador.getRandom().nextInt(5000)) + ","
+                + "\"cliente\":{\"idCliente\":" + idCliente + "},"
+                + "\"itensDoPedido\":" + itens + "}";
+    }
+}
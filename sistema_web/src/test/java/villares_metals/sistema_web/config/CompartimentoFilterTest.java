@@ -0,0 +1,67 @@
+package villares_metals.sistema_web.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import villares_metals.sistema_web.service.Compartimento;
+import villares_metals.sistema_web.service.CompartimentoService;
+
+class CompartimentoFilterTest {
+
+    // pesado: 1 vaga, sem fila
+    private final CompartimentoService compartimentoService = new CompartimentoService(1, 0, 100, 10, 10, 100);
+    private final CompartimentoFilter filtro = new CompartimentoFilter(compartimentoService);
+
+    @Test
+    void respostaAssincronaSoLiberaAVagaAoTerminar() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/os/fichas");
+        request.setAsyncSupported(true);
+
+        filtro.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        Compartimento pesado = compartimentoService.classificar("GET", "/os/fichas");
+        assertEquals(1, pesado.getAtivas());
+        MockHttpServletResponse ocupado = new MockHttpServletResponse();
+        filtro.doFilter(new MockHttpServletRequest("GET", "/os"), ocupado, (req, res) -> { });
+        assertEquals(503, ocupado.getStatus());
+        assertEquals("1", ocupado.getHeader("Retry-After"));
+
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+
+        assertEquals(0, pesado.getAtivas());
+    }
+
+    @Test
+    void sincronizacaoUsaOCompartimentoPesado() {
+        Compartimento pesado = compartimentoService.classificar("GET", "/os");
+        for (String caminho : new String[] {"/os/mudancas", "/clientes/mudancas", "/produtos/mudancas"}) {
+            assertSame(pesado, compartimentoService.classificar("GET", caminho));
+        }
+        assertNotSame(pesado, compartimentoService.classificar("GET", "/os/15"));
+    }
+
+    @Test
+    void respostaSincronaLiberaAVagaNaSaida() throws Exception {
+        filtro.doFilter(new MockHttpServletRequest("GET", "/os"), new MockHttpServletResponse(), (req, res) -> { });
+
+        assertEquals(0, compartimentoService.classificar("GET", "/os").getAtivas());
+    }
+
+    @Test
+    void erroNaRequisicaoTambemLibera() {
+        try {
+            filtro.doFilter(new MockHttpServletRequest("GET", "/os"), new MockHttpServletResponse(), (req, res) -> {
+                throw new IllegalStateException("falha");
+            });
+        } catch (Exception esperado) {
+            // o erro segue para o Spring; a vaga não pode ficar presa
+        }
+
+        assertEquals(0, compartimentoService.classificar("GET", "/os").getAtivas());
+    }
+}
@@ -0,0 +1,133 @@
+package villares_metals.sistema_web.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.collection.spi.PersistentBag;
+import org.junit.jupiter.api.Test;
+import villares_metals.sistema_web.domain.Cliente;
+import villares_metals.sistema_web.domain.OrdemServico;
+import villares_metals.sistema_web.domain.OrdenaProduto;
+import villares_metals.sistema_web.domain.Produto;
+import villares_metals.sistema_web.domain.enums.StatusProducao;
+
+// O JSON dos serializadores do EntidadesModule tem que ser idêntico ao do Jackson padrão
+// (mesma configuração do Spring Boot: JavaTimeModule, datas como texto, Hibernate6Module).
+class EntidadesModuleTest {
+
+    private final ObjectMapper padrao = mapper(false);
+    private final ObjectMapper otimizado = mapper(true);
+
+    static ObjectMapper mapper(boolean comEntidadesModule) {
+        JsonMapper.Builder builder = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .addModule(new Hibernate6Module())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (comEntidadesModule) {
+            builder.addModule(new EntidadesModule());
+        }
+        return builder.build();
+    }
+
+    @Test
+    void ordemCompleta() throws Exception {
+        Cliente cliente = cliente(7);
+        cliente.setOrdensServico(new ArrayList<>());
+        OrdemServico os = ordem(42, cliente);
+        os.getItensDoPedido().add(item(os, produto(3, "Barra redonda 4340"), 12));
+        os.getItensDoPedido().add(item(os, produto(5, "Chapa \"inox\" 304\n"), 1));
+        cliente.getOrdensServico().add(os);
+
+        comparar(os);
+        comparar(List.of(os, ordem(43, cliente)));
+        comparar(cliente);
+    }
+
+    @Test
+    void camposNulos() throws Exception {
+        OrdemServico os = new OrdemServico();
+        os.setItensDoPedido(new ArrayList<>());
+        os.getItensDoPedido().add(item(os, null, null));
+        comparar(os);
+        comparar(new Cliente());
+        comparar(new Produto());
+        OrdenaProduto semId = new OrdenaProduto();
+        semId.setId(null);
+        comparar(semId);
+    }
+
+    @Test
+    void datasComFracaoDeSegundo() throws Exception {
+        OrdemServico os = ordem(1, cliente(1));
+        os.setDataAprovacao(LocalDateTime.of(2025, 1, 31, 8, 0, 0, 120_000_000));
+        comparar(os);
+        os.setDataAprovacao(LocalDateTime.of(2025, 1, 31, 8, 0));
+        comparar(os);
+    }
+
+    @Test
+    void colecaoNaoCarregadaViraNull() throws Exception {
+        Cliente cliente = cliente(2);
+        cliente.setOrdensServico(new PersistentBag<>());
+        comparar(cliente);
+    }
+
+    private void comparar(Object valor) throws Exception {
+        assertEquals(padrao.writeValueAsString(valor), otimizado.writeValueAsString(valor));
+    }
+
+    private static Cliente cliente(int id) {
+        Cliente cliente = new Cliente();
+        cliente.setIdCliente(id);
+        cliente.setNomeCliente("Metalúrgica Ação " + id);
+        cliente.setCnpjCliente("12.345.678/0001-9" + (id % 10));
+        cliente.setTelefoneCliente("(19) 3303-" + (1000 + id));
+        cliente.setEmailCliente("compras" + id + "@exemplo.com.br");
+        cliente.setSeqMudanca(100L + id);
+        return cliente;
+    }
+
+    private static Produto produto(int id, String nome) {
+        Produto produto = new Produto();
+        produto.setIdProduto(id);
+        produto.setNomeProduto(nome);
+        produto.setPesoEntrada("12,5");
+        produto.setPesoSaida(null);
+        produto.setSeqMudanca(7L);
+        return produto;
+    }
+
+    private static OrdemServico ordem(int id, Cliente cliente) {
+        OrdemServico os = new OrdemServico();
+        os.setIdOS(id);
+        os.setDescricao("Têmpera e revenimento");
+        os.setDataEntrega(LocalDate.of(2025, 3, 10));
+        os.setDataAprovacao(LocalDateTime.of(2025, 2, 1, 14, 30, 15));
+        os.setStatusPagamento(id % 2 == 0 ? Boolean.TRUE : null);
+        os.setStatusProducao(StatusProducao.values()[id % StatusProducao.values().length]);
+        os.setValorServico(1234.5 + id);
+        os.setCliente(cliente);
+        os.setItensDoPedido(new ArrayList<>());
+        os.setExcluidoEm(LocalDateTime.of(2025, 4, 1, 0, 0));
+        os.setSeqMudanca(200L + id);
+        return os;
+    }
+
+    private static OrdenaProduto item(OrdemServico os, Produto produto, Integer quantidade) {
+        OrdenaProduto item = new OrdenaProduto();
+        item.getId().setOs(os.getIdOS());
+        item.getId().setProduto(produto != null ? produto.getIdProduto() : null);
+        item.setOrdemServico(os);
+        item.setProduto(produto);
+        item.setQuantidade(quantidade);
+        return item;
+    }
+}
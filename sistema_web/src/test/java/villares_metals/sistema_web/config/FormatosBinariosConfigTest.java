@@ -0,0 +1,119 @@
+package villares_metals.sistema_web.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import villares_metals.sistema_web.service.DadosTeste;
+
+// Negociação de conteúdo do FormatosBinariosConfig pelo MVC: GET /os com Accept CBOR ou Smile
+// responde nesse formato com o mesmo conteúdo do JSON; */* e sem Accept continuam JSON. Os
+// conversores CBOR/Smile registrados são os daqui (um de cada, depois do JSON) e o mapper
+// deles tem o EntidadesModule e o Hibernate6Module. Filtros desligados: segurança à parte.
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("teste")
+class FormatosBinariosConfigTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
+    private final ObjectMapper json = new JsonMapper();
+
+    @BeforeEach
+    void preparar() {
+        DadosTeste dados = new DadosTeste(jdbc);
+        int os = dados.ordem(dados.cliente("Cliente Formatos"), "FILA", true, LocalDate.of(2096, 2, 3), 1_234.5);
+        dados.item(os, dados.produto("Barra Formatos"), 7);
+    }
+
+    @Test
+    void cborESmileTrazemOMesmoConteudoDoJson() throws Exception {
+        JsonNode esperado = json.readTree(corpo(MediaType.APPLICATION_JSON, MediaType.APPLICATION_JSON));
+
+        JsonNode cbor = new CBORMapper().readTree(corpo(MediaType.APPLICATION_CBOR, MediaType.APPLICATION_CBOR));
+        JsonNode smile = new SmileMapper().readTree(corpo(SMILE, SMILE));
+
+        assertTrue(esperado.size() > 0);
+        assertEquals(esperado, cbor);
+        assertEquals(esperado, smile);
+        // datas como texto, como no JSON
+        assertTrue(cbor.get(0).get("dataEntrega").isTextual());
+    }
+
+    @Test
+    void qualquerFormatoOuSemAcceptRespondeJson() throws Exception {
+        corpo(MediaType.ALL, MediaType.APPLICATION_JSON);
+        mvc.perform(get("/os"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void conversoresBinariosUsamOsModulosDoJson() {
+        List<HttpMessageConverter<?>> conversores = handlerAdapter.getMessageConverters();
+        List<HttpMessageConverter<?>> cbor = conversores.stream()
+                .filter(c -> c instanceof MappingJackson2CborHttpMessageConverter).toList();
+        List<HttpMessageConverter<?>> smile = conversores.stream()
+                .filter(c -> c instanceof MappingJackson2SmileHttpMessageConverter).toList();
+
+        assertEquals(1, cbor.size());
+        assertEquals(1, smile.size());
+        // o primeiro conversor JSON (o do Spring Data também estende o MappingJackson2) vem antes
+        int posicaoJson = -1;
+        for (int i = 0; i < conversores.size(); i++) {
+            if (conversores.get(i) instanceof MappingJackson2HttpMessageConverter) {
+                posicaoJson = i;
+                break;
+            }
+        }
+        assertTrue(posicaoJson >= 0 && conversores.indexOf(cbor.get(0)) > posicaoJson);
+        assertTrue(conversores.indexOf(smile.get(0)) > posicaoJson);
+        for (HttpMessageConverter<?> conversor : List.of(cbor.get(0), smile.get(0))) {
+            var modulos = ((AbstractJackson2HttpMessageConverter) conversor).getObjectMapper().getRegisteredModuleIds();
+            assertTrue(modulos.contains(new EntidadesModule().getTypeId()), conversor + ": " + modulos);
+            assertTrue(modulos.contains(new Hibernate6Module().getTypeId()), conversor + ": " + modulos);
+        }
+    }
+
+    // GET /os com o Accept dado; confere o Content-Type da resposta
+    private byte[] corpo(MediaType aceito, MediaType esperado) throws Exception {
+        return mvc.perform(get("/os").accept(aceito))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(esperado))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+}
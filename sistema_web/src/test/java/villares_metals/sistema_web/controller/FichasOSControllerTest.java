@@ -0,0 +1,136 @@
+package villares_metals.sistema_web.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.IContext;
+import villares_metals.sistema_web.domain.OrdemServico;
+import villares_metals.sistema_web.service.DadosTeste;
+
+// GET /os/fichas pelo MVC: resposta assíncrona (StreamingResponseBody) em text/html com as fichas
+// na ordem, ?data= só com as ordens em FILA do dia e ?ids= com as escolhidas; se uma ficha falha
+// no template, a resposta termina em erro sem o fim do documento (as fichas pendentes são
+// descartadas, ver FichaOSServiceTest). Filtros desligados: segurança e compartimentos à parte.
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("teste")
+class FichasOSControllerTest {
+
+    private static final Pattern NUMERO_OS = Pattern.compile("OS nº (\\d+)");
+    private static final LocalDate DIA = LocalDate.of(2094, 8, 22);
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @MockitoSpyBean
+    private ITemplateEngine templateEngine;
+
+    private DadosTeste dados;
+    private int cliente;
+
+    @BeforeEach
+    void preparar() {
+        dados = new DadosTeste(jdbc);
+        cliente = dados.cliente("Cliente Fichas MVC");
+    }
+
+    @Test
+    void fichasDoDiaSaemEmStreamingNaOrdem() throws Exception {
+        int fila1 = ordem("FILA", DIA);
+        ordem("PRODUCAO", DIA);
+        int fila2 = ordem("FILA", DIA);
+        ordem("FILA", DIA.plusDays(1));
+
+        MvcResult inicio = mvc.perform(get("/os/fichas").param("data", DIA.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult resposta = mvc.perform(asyncDispatch(inicio))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/html;charset=UTF-8"))
+                .andReturn();
+
+        String html = resposta.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertEquals(List.of(fila1, fila2), numeros(html));
+        assertTrue(html.trim().endsWith("</html>"));
+    }
+
+    @Test
+    void idsTrazemAsOrdensEscolhidasEmQualquerStatus() throws Exception {
+        int producao = ordem("PRODUCAO", DIA.plusDays(2));
+        int fila = ordem("FILA", DIA.plusDays(3));
+
+        MvcResult inicio = mvc.perform(get("/os/fichas").param("ids", fila + "," + producao))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult resposta = mvc.perform(asyncDispatch(inicio))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals(List.of(producao, fila), numeros(resposta.getResponse().getContentAsString(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void fichaComErroNoTemplateTerminaARespostaEmErro() throws Exception {
+        int boa = ordem("FILA", DIA.plusDays(4));
+        int quebrada = ordem("FILA", DIA.plusDays(4));
+        doThrow(new IllegalStateException("template quebrado")).when(templateEngine)
+                .process(eq("fichas/ficha"), argThat((IContext c) -> c != null
+                        && c.getVariable("os") instanceof OrdemServico os && os.getIdOS() == quebrada));
+
+        MvcResult inicio = mvc.perform(get("/os/fichas").param("ids", boa + "," + quebrada))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        inicio.getAsyncResult(10_000);
+
+        IOException erro = assertInstanceOf(IOException.class, inicio.getAsyncResult());
+        assertEquals("Erro ao renderizar ficha de OS", erro.getMessage());
+        assertEquals("template quebrado", erro.getCause().getMessage());
+        assertFalse(inicio.getResponse().getContentAsString(StandardCharsets.UTF_8).contains("</html>"));
+        assertThrows(Exception.class, () -> mvc.perform(asyncDispatch(inicio)));
+    }
+
+    private int ordem(String status, LocalDate entrega) {
+        return dados.ordem(cliente, status, false, entrega, 100);
+    }
+
+    private static List<Integer> numeros(String html) {
+        List<Integer> encontrados = new ArrayList<>();
+        Matcher m = NUMERO_OS.matcher(html);
+        while (m.find()) {
+            encontrados.add(Integer.valueOf(m.group(1)));
+        }
+        return encontrados;
+    }
+}
@@ -0,0 +1,65 @@
+package villares_metals.sistema_web.repository;
+
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.jpa.domain.Specification;
+import villares_metals.sistema_web.dto.FiltroBusca;
+
+// Specification usada pelo OrdemServicoService até a troca pelas variantes fixas do
+// BuscaAvancadaRepository, copiada como referência (BuscaAvancadaRepositoryTest e o benchmark)
+public final class BuscaAntiga {
+
+    private BuscaAntiga() {
+    }
+
+    // Itens e produtos das ordens arquivadas vinham na mesma consulta (a coleção é LAZY)
+    public static <T> Specification<T> comItensArquivados() {
+        return (root, query, criteriaBuilder) -> {
+            root.fetch("cliente", JoinType.LEFT);
+            root.fetch("itensDoPedido", JoinType.LEFT).fetch("produto", JoinType.LEFT);
+            query.distinct(true);
+            return null;
+        };
+    }
+
+    // Genérica: as tabelas ativas e as de arquivo têm os mesmos atributos
+    public static <T> Specification<T> filtro(FiltroBusca filtro) {
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filtro.dataInicio() != null || filtro.dataFim() != null) {
+                Expression<LocalDate> dataEntregaPath = root.get("dataEntrega").as(LocalDate.class);
+                if (filtro.dataInicio() != null) {
+                    predicates.add(criteriaBuilder.greaterThanOrEqualTo(dataEntregaPath, filtro.dataInicio()));
+                }
+                if (filtro.dataFim() != null) {
+                    predicates.add(criteriaBuilder.lessThanOrEqualTo(dataEntregaPath, filtro.dataFim()));
+                }
+            }
+            if (filtro.valorMin() != null || filtro.valorMax() != null) {
+                Expression<Double> valorPath = root.get("valorServico").as(Double.class);
+                if (filtro.valorMin() != null) {
+                    predicates.add(criteriaBuilder.greaterThanOrEqualTo(valorPath, filtro.valorMin()));
+                }
+                if (filtro.valorMax() != null) {
+                    predicates.add(criteriaBuilder.lessThanOrEqualTo(valorPath, filtro.valorMax()));
+                }
+            }
+            if (filtro.statusPagamento() != null) {
+                predicates.add(criteriaBuilder.equal(root.get("statusPagamento"), filtro.statusPagamento()));
+            }
+            if (filtro.statusProducao() != null) {
+                predicates.add(criteriaBuilder.equal(root.get("statusProducao"), filtro.statusProducao()));
+            }
+            if (filtro.descricao() != null) {
+                Expression<String> descricaoPath = root.get("descricao").as(String.class);
+                predicates.add(criteriaBuilder.like(
+                        criteriaBuilder.lower(descricaoPath), "%" + filtro.descricao().toLowerCase() + "%"));
+            }
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
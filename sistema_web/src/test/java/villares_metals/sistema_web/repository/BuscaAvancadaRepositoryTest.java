@@ -0,0 +1,169 @@
+package villares_metals.sistema_web.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import villares_metals.sistema_web.domain.OrdemServico;
+import villares_metals.sistema_web.domain.OrdemServicoArquivo;
+import villares_metals.sistema_web.domain.enums.StatusProducao;
+import villares_metals.sistema_web.dto.FiltroBusca;
+import villares_metals.sistema_web.service.DadosTeste;
+
+// Variantes fixas da /busca contra a Specification anterior (BuscaAntiga), nas 128 combinações
+// de filtros, nas ordens ativas e nas arquivadas: mesmas OS, sem repetição, com os mesmos itens.
+// Os dados cruzam cada limite de filtro (datas e valores nas bordas, maiúsculas na descrição) e
+// uma ordem atende a todos, então nenhuma combinação volta vazia. Transação desfeita no fim;
+// o tempo de cada caminho fica no BuscaAvancadaBenchmarkTest (-Pcarga).
+@SpringBootTest
+@ActiveProfiles("teste")
+@Transactional
+class BuscaAvancadaRepositoryTest {
+
+    private static final LocalDate INICIO = LocalDate.of(2095, 3, 1);
+    private static final LocalDate FIM = LocalDate.of(2095, 6, 30);
+    private static final FiltroBusca TODOS = new FiltroBusca(INICIO, FIM, 500.0, 5_000.0, true, StatusProducao.FILA, "têmpera");
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private BuscaAvancadaRepository buscaAvancadaRepository;
+
+    @Autowired
+    private OrdemServicoRepository ordemServicoRepository;
+
+    @Autowired
+    private OrdemServicoArquivoRepository arquivoRepository;
+
+    private DadosTeste dados;
+    private int cliente;
+    private int barra;
+    private int chapa;
+    private int proximoArquivado = 900_000;
+
+    @BeforeEach
+    void preparar() {
+        dados = new DadosTeste(jdbc);
+        cliente = dados.cliente("Cliente Busca");
+        barra = dados.produto("Barra Busca");
+        chapa = dados.produto("Chapa Busca");
+        LocalDate meio = LocalDate.of(2095, 4, 10);
+
+        // atende a todos os filtros
+        criar(meio, 1_200, true, "FILA", "Têmpera de barra");
+        // nas bordas (incluídas)
+        criar(INICIO, 500, true, "FILA", "têmpera");
+        criar(FIM, 5_000, true, "FILA", "TÊMPERA e revenido");
+        // cada uma fora de um filtro só
+        criar(INICIO.minusDays(1), 1_200, true, "FILA", "Têmpera");
+        criar(FIM.plusDays(1), 1_200, true, "FILA", "Têmpera");
+        criar(meio, 499.99, true, "FILA", "Têmpera");
+        criar(meio, 5_000.01, true, "FILA", "Têmpera");
+        criar(meio, 1_200, false, "FILA", "Têmpera");
+        criar(meio, 1_200, true, "PRODUCAO", "Têmpera");
+        criar(meio, 1_200, true, "FILA", "Nitretação");
+    }
+
+    @Test
+    void ordensAtivasIguaisASpecificationEmTodasAsMascaras() {
+        for (int mascara = 0; mascara < 128; mascara++) {
+            FiltroBusca filtro = filtro(mascara);
+
+            Map<Integer, String> antiga = resumo(ordemServicoRepository.findAll(BuscaAntiga.filtro(filtro)),
+                    OrdemServico::getIdOS, BuscaAvancadaRepositoryTest::itens);
+            entityManager.clear();
+            Map<Integer, String> fixa = resumo(buscaAvancadaRepository.buscar(filtro),
+                    OrdemServico::getIdOS, BuscaAvancadaRepositoryTest::itens);
+            entityManager.clear();
+
+            assertFalse(antiga.isEmpty(), "Nenhuma OS para a máscara " + mascara);
+            assertEquals(antiga, fixa, "Máscara " + Integer.toBinaryString(mascara));
+        }
+    }
+
+    @Test
+    void ordensArquivadasIguaisASpecificationEmTodasAsMascaras() {
+        for (int mascara = 0; mascara < 128; mascara++) {
+            FiltroBusca filtro = filtro(mascara);
+
+            Map<Integer, String> antiga = resumo(
+                    arquivoRepository.findAll(BuscaAntiga.<OrdemServicoArquivo>comItensArquivados().and(BuscaAntiga.filtro(filtro))),
+                    OrdemServicoArquivo::getIdOS, BuscaAvancadaRepositoryTest::itensArquivados);
+            entityManager.clear();
+            Map<Integer, String> fixa = resumo(buscaAvancadaRepository.buscarArquivo(filtro),
+                    OrdemServicoArquivo::getIdOS, BuscaAvancadaRepositoryTest::itensArquivados);
+            entityManager.clear();
+
+            assertFalse(antiga.isEmpty(), "Nenhuma OS arquivada para a máscara " + mascara);
+            assertEquals(antiga, fixa, "Máscara " + Integer.toBinaryString(mascara));
+        }
+    }
+
+    // Só os filtros presentes na máscara, com os valores de TODOS
+    private static FiltroBusca filtro(int mascara) {
+        FiltroBusca filtro = new FiltroBusca(
+                (mascara & FiltroBusca.DATA_INICIO) != 0 ? TODOS.dataInicio() : null,
+                (mascara & FiltroBusca.DATA_FIM) != 0 ? TODOS.dataFim() : null,
+                (mascara & FiltroBusca.VALOR_MIN) != 0 ? TODOS.valorMin() : null,
+                (mascara & FiltroBusca.VALOR_MAX) != 0 ? TODOS.valorMax() : null,
+                (mascara & FiltroBusca.STATUS_PAGAMENTO) != 0 ? TODOS.statusPagamento() : null,
+                (mascara & FiltroBusca.STATUS_PRODUCAO) != 0 ? TODOS.statusProducao() : null,
+                (mascara & FiltroBusca.DESCRICAO) != 0 ? TODOS.descricao() : null);
+        assertEquals(mascara, filtro.mascara());
+        return filtro;
+    }
+
+    // id -> itens; OS repetida no resultado falha aqui
+    private static <T> Map<Integer, String> resumo(List<T> ordens, Function<T, Integer> id, Function<T, List<String>> itens) {
+        Map<Integer, String> resumo = new TreeMap<>();
+        for (T os : ordens) {
+            String anterior = resumo.put(id.apply(os), String.join(",", itens.apply(os)));
+            assertNull(anterior, "OS repetida: " + id.apply(os));
+        }
+        return resumo;
+    }
+
+    // produto x quantidade
+    private static List<String> itens(OrdemServico os) {
+        return os.getItensDoPedido().stream()
+                .map(i -> i.getProduto().getIdProduto() + "x" + i.getQuantidade()).sorted().toList();
+    }
+
+    private static List<String> itensArquivados(OrdemServicoArquivo os) {
+        return os.getItensDoPedido().stream()
+                .map(i -> i.getProduto().getIdProduto() + "x" + i.getQuantidade()).sorted().toList();
+    }
+
+    // Uma OS ativa e uma arquivada com os mesmos dados, com um ou dois itens
+    private void criar(LocalDate entrega, double valor, boolean pago, String status, String descricao) {
+        int os = dados.ordem(cliente, status, pago, entrega, valor);
+        jdbc.update("UPDATE ordem_servico SET descricao_pedido = ? WHERE n_os = ?", descricao, os);
+        dados.item(os, barra, 2);
+        int arquivada = proximoArquivado++;
+        jdbc.update("INSERT INTO ordem_servico_arquivo (n_os, data_entrega, data_aprovacao, status_pagamento,"
+                + " status_producao, valor_servico, descricao_pedido, id_cliente) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                arquivada, entrega, entrega.minusDays(30).atStartOfDay(), pago, status, valor, descricao, cliente);
+        jdbc.update("INSERT INTO ordena_produto_arquivo (id_os, id_produto, quantidade) VALUES (?, ?, ?)", arquivada, barra, 2);
+        if (os % 2 == 0) {
+            dados.item(os, chapa, 5);
+            jdbc.update("INSERT INTO ordena_produto_arquivo (id_os, id_produto, quantidade) VALUES (?, ?, ?)", arquivada, chapa, 5);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package villares_metals.sistema_web.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Guarda o SQL que o Hibernate manda ao banco na thread atual, entre iniciar() e parar()
+// (perfil "plano": hibernate.session_factory.statement_inspector)
+public class CapturaSql implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> CAPTURADOS = new ThreadLocal<>();
+
+    static void iniciar() {
+        CAPTURADOS.set(new ArrayList<>());
+    }
+
+    static List<String> parar() {
+        List<String> capturados = CAPTURADOS.get();
+        CAPTURADOS.remove();
+        return capturados;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> capturados = CAPTURADOS.get();
+        if (capturados != null) {
+            capturados.add(sql);
+        }
+        return sql;
+    }
+}
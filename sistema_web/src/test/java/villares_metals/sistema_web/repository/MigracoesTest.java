@@ -0,0 +1,135 @@
+package villares_metals.sistema_web.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// Migrações do Flyway (db/migration) num H2 em modo MySQL: banco novo e banco criado pelo
+// script_db.txt (baseline na V1). Confere que a V1 é exatamente o script original, que um
+// banco do script recebe as tabelas e colunas das versões seguintes e que os índices da V2
+// existem nas colunas esperadas. Só a existência: se as consultas usam esses índices é
+// conferido com EXPLAIN num MySQL de verdade, no PlanosConsultaTest.
+class MigracoesTest {
+
+    private static final AtomicInteger BANCOS = new AtomicInteger();
+
+    @Test
+    void v1IgualAoScriptOriginal() throws IOException {
+        JdbcDataSource doScript = banco();
+        executarScriptDb(doScript);
+        JdbcDataSource migrado = banco();
+        Flyway.configure().dataSource(migrado).target("1").load().migrate();
+
+        assertEquals(colunas(doScript), colunas(migrado));
+    }
+
+    @Test
+    void bancoDoScriptRecebeAsMigracoesSeguintes() throws IOException {
+        JdbcDataSource banco = banco();
+        executarScriptDb(banco);
+        Flyway.configure().dataSource(banco)
+                .baselineOnMigrate(true).baselineVersion("1")
+                .load().migrate();
+
+        List<String> colunas = colunas(banco);
+        for (String esperada : List.of(
+                "ordem_servico_arquivo.n_os",
+                "ordena_produto_arquivo.id_produto",
+                "resumo_os.valor_total",
+                "dados_cliente.excluido_em",
+                "ordem_servico.excluido_em",
+                "ordem_servico_arquivo.excluido_em",
+                "historico_status_os.status_novo",
+                "histograma_prazo.faixa",
+                "sequencia_mudanca.valor",
+                "registro_exclusao.seq_mudanca",
+                "ordem_servico.seq_mudanca",
+                "dados_cliente.seq_mudanca",
+                "produto.seq_mudanca")) {
+            assertTrue(colunas.stream().anyMatch(c -> c.startsWith(esperada + " ")),
+                    "Coluna ausente depois do baseline: " + esperada);
+        }
+    }
+
+    // Linhas anteriores à V4 precisam de número positivo: a sincronização lê seq_mudanca > desde
+    @Test
+    void linhasExistentesEntramNaSincronizacao() {
+        JdbcDataSource banco = banco();
+        Flyway.configure().dataSource(banco).target("3").load().migrate();
+        JdbcTemplate jdbc = new JdbcTemplate(banco);
+        jdbc.update("INSERT INTO dados_cliente (nome_cliente, cnpj_cliente, telefone_cliente, email_cliente)"
+                + " VALUES ('Cliente Antigo', '12.345.678/0001-90', '(19) 3303-1000', 'antigo@exemplo.com.br')");
+        jdbc.update("INSERT INTO produto (nome_produto, peso_entrada, peso_saida) VALUES ('Barra Antiga', 10, 9)");
+
+        Flyway.configure().dataSource(banco).load().migrate();
+
+        assertEquals(1, jdbc.queryForObject("SELECT MIN(seq_mudanca) FROM dados_cliente", Long.class));
+        assertEquals(1, jdbc.queryForObject("SELECT MIN(seq_mudanca) FROM produto", Long.class));
+        assertEquals(List.of(1L, 1L, 1L), jdbc.queryForList(
+                "SELECT valor FROM sequencia_mudanca ORDER BY recurso", Long.class));
+    }
+
+    @Test
+    void indicesDasConsultasFrequentes() {
+        JdbcDataSource banco = banco();
+        Flyway.configure().dataSource(banco).load().migrate();
+        JdbcTemplate jdbc = new JdbcTemplate(banco);
+
+        assertIndice(jdbc, "idx_os_data_entrega", "ordem_servico", "data_entrega");
+        assertIndice(jdbc, "idx_os_status_entrega", "ordem_servico", "status_producao,data_entrega");
+        assertIndice(jdbc, "idx_os_cliente", "ordem_servico", "id_cliente");
+        assertIndice(jdbc, "idx_ordena_produto_os", "ordena_produto", "id_os,id_produto");
+        assertIndice(jdbc, "idx_ordena_produto_produto", "ordena_produto", "id_produto");
+        assertIndice(jdbc, "idx_os_arquivo_status_entrega", "ordem_servico_arquivo", "status_producao,data_entrega");
+    }
+
+    private static void assertIndice(JdbcTemplate jdbc, String indice, String tabela, String colunas) {
+        List<String> encontradas = jdbc.queryForList(
+                "SELECT c.column_name FROM information_schema.index_columns c"
+                + " WHERE c.index_name = ? AND c.table_name = ? ORDER BY c.ordinal_position",
+                String.class, indice, tabela);
+        assertEquals(colunas, String.join(",", encontradas), "Índice " + indice + " em " + tabela);
+    }
+
+    // "tabela.coluna TIPO NULO", em ordem
+    private static List<String> colunas(JdbcDataSource banco) {
+        return new JdbcTemplate(banco).queryForList(
+                "SELECT table_name || '.' || column_name || ' ' || data_type || ' ' || is_nullable"
+                + " FROM information_schema.columns WHERE table_schema = 'public'"
+                + " AND table_name <> 'flyway_schema_history'"
+                + " ORDER BY table_name, ordinal_position",
+                String.class);
+    }
+
+    // script_db.txt da raiz do repositório, sem o CREATE DATABASE / USE
+    private static void executarScriptDb(JdbcDataSource banco) throws IOException {
+        String script = Files.readString(Path.of("..", "script_db.txt"), StandardCharsets.UTF_8);
+        JdbcTemplate jdbc = new JdbcTemplate(banco);
+        for (String comando : script.split(";")) {
+            String sql = comando.replaceAll("(?m)^\\s*--.*$", "").trim();
+            if (sql.isEmpty() || sql.startsWith("CREATE DATABASE") || sql.startsWith("USE ")) {
+                continue;
+            }
+            jdbc.execute(sql);
+        }
+    }
+
+    private static JdbcDataSource banco() {
+        JdbcDataSource banco = new JdbcDataSource();
+        banco.setURL("jdbc:h2:mem:villares_migracoes_" + BANCOS.incrementAndGet()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        banco.setUser("sa");
+        banco.setPassword("");
+        return banco;
+    }
+}
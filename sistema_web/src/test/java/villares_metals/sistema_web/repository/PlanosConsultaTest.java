@@ -0,0 +1,282 @@
+package villares_metals.sistema_web.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import villares_metals.sistema_web.domain.enums.StatusProducao;
+import villares_metals.sistema_web.dto.FiltroBusca;
+
+// Planos de execução das consultas frequentes num MySQL de verdade: o SQL que o Hibernate gera
+// (capturado pelo CapturaSql) passa por EXPLAIN e cada tabela precisa ser lida pelo índice
+// esperado, sem varredura completa (type ALL). Só a listagem completa lê ordem_servico inteira,
+// de propósito; os clientes e itens de cada OS dela vêm por chave. O H2 não escolhe índices como
+// o MySQL, então o teste só roda com -Dplano.mysql.url apontando para um banco descartável:
+//   ./mvnw test -Dtest=PlanosConsultaTest -Dplano.mysql.url=jdbc:mysql://localhost:3306/villares_plano
+//     -Dplano.mysql.usuario=aluno -Dplano.mysql.senha=segredo
+// Na primeira vez o banco é migrado e recebe um volume de dados com a distribuição de produção
+// (poucas ordens em FILA, a maioria PRONTO), para o otimizador ter estatísticas realistas.
+@SpringBootTest
+@ActiveProfiles("plano")
+@EnabledIfSystemProperty(named = "plano.mysql.url", matches = ".+",
+        disabledReason = "sem MySQL para o EXPLAIN (-Dplano.mysql.url)")
+class PlanosConsultaTest {
+
+    private static final Pattern TABELA_ALIAS = Pattern.compile("(?:from|join)\\s+(\\w+)\\s+(\\w+)");
+    private static final LocalDate INICIO = LocalDate.of(2020, 1, 1);
+    private static final int ORDENS = 40_000;
+    private static final int ARQUIVADAS = 20_000;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private BuscaAvancadaRepository buscaAvancadaRepository;
+
+    @Autowired
+    private OrdemServicoRepository ordemServicoRepository;
+
+    @Autowired
+    private FuncionarioRepository funcionarioRepository;
+
+    @BeforeEach
+    void popular() {
+        if (jdbc.queryForObject("SELECT COUNT(*) FROM ordem_servico", Integer.class) > 0) {
+            return;
+        }
+        Random random = new Random(34);
+        List<Object[]> linhas = new ArrayList<>();
+        for (int id = 1; id <= 1_000; id++) {
+            linhas.add(new Object[]{id, "Cliente " + id, "12.345.678/0001-90", "(19) 3303-1000", "c" + id + "@exemplo.com.br"});
+        }
+        jdbc.batchUpdate("INSERT INTO dados_cliente (id_cliente, nome_cliente, cnpj_cliente, telefone_cliente, email_cliente)"
+                + " VALUES (?, ?, ?, ?, ?)", linhas);
+        linhas.clear();
+        for (int id = 1; id <= 500; id++) {
+            linhas.add(new Object[]{id, "Produto " + id, new BigDecimal("10.00"), new BigDecimal("9.50")});
+        }
+        jdbc.batchUpdate("INSERT INTO produto (id_produto, nome_produto, peso_entrada, peso_saida) VALUES (?, ?, ?, ?)", linhas);
+        linhas.clear();
+        for (int i = 1; i <= 50; i++) {
+            linhas.add(new Object[]{"funcionario" + i, "hash"});
+        }
+        jdbc.batchUpdate("INSERT INTO funcionario (username, senha_hash) VALUES (?, ?)", linhas);
+
+        List<Object[]> itens = new ArrayList<>();
+        linhas.clear();
+        for (int id = 1; id <= ORDENS; id++) {
+            LocalDate entrega = INICIO.plusDays(random.nextInt(1_500));
+            linhas.add(new Object[]{id, Date.valueOf(entrega), Timestamp.valueOf(entrega.minusDays(20).atTime(9, 0)),
+                random.nextBoolean(), status(random), BigDecimal.valueOf(50 + random.nextInt(20_000)),
+                "Ordem " + id, 1 + random.nextInt(1_000)});
+            Set<Integer> produtos = new LinkedHashSet<>();
+            int quantidade = 1 + random.nextInt(3);
+            while (produtos.size() < quantidade) {
+                produtos.add(1 + random.nextInt(500));
+            }
+            for (int produto : produtos) {
+                itens.add(new Object[]{id, produto, 1 + random.nextInt(20)});
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO ordem_servico (n_os, data_entrega, data_aprovacao, status_pagamento, status_producao,"
+                + " valor_servico, descricao_pedido, id_cliente) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", linhas);
+        jdbc.batchUpdate("INSERT INTO ordena_produto (id_os, id_produto, quantidade) VALUES (?, ?, ?)", itens);
+
+        linhas.clear();
+        for (int id = ORDENS + 1; id <= ORDENS + ARQUIVADAS; id++) {
+            LocalDate entrega = INICIO.minusDays(1 + random.nextInt(1_500));
+            linhas.add(new Object[]{id, Date.valueOf(entrega), Timestamp.valueOf(entrega.minusDays(20).atTime(9, 0)),
+                BigDecimal.valueOf(50 + random.nextInt(20_000)), "Ordem " + id, 1 + random.nextInt(1_000)});
+        }
+        jdbc.batchUpdate("INSERT INTO ordem_servico_arquivo (n_os, data_entrega, data_aprovacao, status_pagamento,"
+                + " status_producao, valor_servico, descricao_pedido, id_cliente) VALUES (?, ?, ?, TRUE, 'PRONTO', ?, ?, ?)", linhas);
+        jdbc.update("UPDATE ordem_servico SET seq_mudanca = 1");
+
+        for (String tabela : List.of("dados_cliente", "produto", "funcionario", "ordem_servico", "ordena_produto",
+                "ordem_servico_arquivo", "ordena_produto_arquivo")) {
+            jdbc.queryForList("ANALYZE TABLE " + tabela);
+        }
+    }
+
+    @Test
+    void buscaPorStatusUsaStatusEEntrega() {
+        FiltroBusca filtro = filtro(null, null, null, StatusProducao.FILA);
+        List<String> sql = capturar(() -> buscaAvancadaRepository.buscar(filtro));
+
+        assertPlano(sql.get(0), List.of("FILA"), Map.of("ordem_servico", "idx_os_status_entrega"));
+    }
+
+    @Test
+    void buscaPorStatusEIntervaloUsaStatusEEntrega() {
+        LocalDate de = INICIO.plusDays(400);
+        LocalDate ate = de.plusDays(30);
+        FiltroBusca filtro = filtro(de, ate, null, StatusProducao.PRODUCAO);
+        List<String> sql = capturar(() -> buscaAvancadaRepository.buscar(filtro));
+
+        assertPlano(sql.get(0), List.of(de, ate, "PRODUCAO"), Map.of("ordem_servico", "idx_os_status_entrega"));
+    }
+
+    @Test
+    void buscaPorIntervaloUsaEntrega() {
+        LocalDate de = INICIO.plusDays(700);
+        LocalDate ate = de.plusDays(7);
+        FiltroBusca filtro = filtro(de, ate, null, null);
+        List<String> sql = capturar(() -> buscaAvancadaRepository.buscar(filtro));
+
+        assertPlano(sql.get(0), List.of(de, ate), Map.of("ordem_servico", "idx_os_data_entrega"));
+    }
+
+    @Test
+    void buscaPorIntervaloEValorUsaEntrega() {
+        LocalDate de = INICIO.plusDays(900);
+        LocalDate ate = de.plusDays(7);
+        FiltroBusca filtro = filtro(de, ate, 1_000.0, null);
+        List<String> sql = capturar(() -> buscaAvancadaRepository.buscar(filtro));
+
+        assertPlano(sql.get(0), List.of(de, ate, 1_000.0), Map.of("ordem_servico", "idx_os_data_entrega"));
+    }
+
+    @Test
+    void buscaNoArquivoPorIntervaloUsaEntrega() {
+        LocalDate de = INICIO.minusDays(300);
+        LocalDate ate = de.plusDays(7);
+        FiltroBusca filtro = filtro(de, ate, null, null);
+        List<String> sql = capturar(() -> buscaAvancadaRepository.buscarArquivo(filtro));
+
+        assertPlano(sql.get(0), List.of(de, ate), Map.of("ordem_servico_arquivo", "idx_os_arquivo_data_entrega"));
+    }
+
+    // O arquivo só tem ordens PRONTO: com status PRONTO quem filtra é o intervalo
+    @Test
+    void buscaNoArquivoPorStatusEIntervaloUsaEntrega() {
+        LocalDate de = INICIO.minusDays(600);
+        LocalDate ate = de.plusDays(7);
+        FiltroBusca filtro = filtro(de, ate, null, StatusProducao.PRONTO);
+        List<String> sql = capturar(() -> buscaAvancadaRepository.buscarArquivo(filtro));
+
+        assertPlano(sql.get(0), List.of(de, ate, "PRONTO"), Map.of("ordem_servico_arquivo", "idx_os_arquivo_data_entrega"));
+    }
+
+    // ... e um status que não está no arquivo responde pelo índice, sem ler o arquivo todo
+    @Test
+    void buscaNoArquivoPorOutroStatusUsaStatusEEntrega() {
+        FiltroBusca filtro = filtro(null, null, null, StatusProducao.FILA);
+        List<String> sql = capturar(() -> buscaAvancadaRepository.buscarArquivo(filtro));
+
+        assertPlano(sql.get(0), List.of("FILA"), Map.of("ordem_servico_arquivo", "idx_os_arquivo_status_entrega"));
+    }
+
+    @Test
+    void fichasDoDiaUsamStatusEEntrega() {
+        LocalDate dia = INICIO.plusDays(1_000);
+        List<String> sql = capturar(() -> ordemServicoRepository.findFichasPorData(StatusProducao.FILA, dia));
+
+        assertPlano(sql.get(0), List.of("FILA", dia), Map.of("ordem_servico", "idx_os_status_entrega"));
+    }
+
+    @Test
+    void mudancasUsamONumeroDeMudanca() {
+        List<String> sql = capturar(() -> ordemServicoRepository.findMudancasDesde(1));
+
+        assertPlano(sql.get(0), List.of(1), Map.of("ordem_servico", "idx_os_seq_mudanca"));
+    }
+
+    @Test
+    void funcionarioPorUsernameUsaAChaveUnica() {
+        List<String> sql = capturar(() -> assertNotNull(funcionarioRepository.findFuncionarioByUser("funcionario7")));
+
+        assertPlano(sql.get(0), List.of("funcionario7"), Map.of("funcionario", "username"));
+    }
+
+    // A página da listagem lê ordem_servico em sequência; cliente e itens de cada OS, por chave
+    @Test
+    void listagemCarregaClientesEItensPorChave() {
+        List<String> sql = capturar(() -> ordemServicoRepository.findAll(PageRequest.of(0, 20)));
+
+        assertFalse(sql.size() < 2, "esperadas as consultas de clientes e itens: " + sql);
+        assertPlano(sql.get(0), null, Map.of(), "ordem_servico");
+        for (String secundaria : sql.subList(1, sql.size())) {
+            if (secundaria.startsWith("select count")) {
+                continue;
+            }
+            assertPlano(secundaria, null, secundaria.contains(" from ordena_produto ")
+                    ? Map.of("ordena_produto", "idx_ordena_produto_os")
+                    : Map.of("dados_cliente", "PRIMARY"));
+        }
+    }
+
+    private static FiltroBusca filtro(LocalDate de, LocalDate ate, Double valorMin, StatusProducao status) {
+        return new FiltroBusca(de, ate, valorMin, null, null, status, null);
+    }
+
+    private static List<String> capturar(Runnable consulta) {
+        List<String> sql;
+        CapturaSql.iniciar();
+        try {
+            consulta.run();
+        } finally {
+            sql = CapturaSql.parar();
+        }
+        assertFalse(sql.isEmpty(), "nenhum SQL capturado");
+        return sql;
+    }
+
+    // EXPLAIN do SQL com os mesmos parâmetros (null = 1 em cada ?, para as cargas por id).
+    // Toda tabela: sem type ALL (salvo as lidas inteiras de propósito) e com a chave esperada
+    private void assertPlano(String sql, List<Object> parametros, Map<String, String> chaves, String... lidasInteiras) {
+        Object[] valores = parametros != null
+                ? parametros.toArray()
+                : sql.chars().filter(c -> c == '?').mapToObj(c -> (Object) 1).toArray();
+        Map<String, String> tabelas = new HashMap<>();
+        Matcher m = TABELA_ALIAS.matcher(sql);
+        while (m.find()) {
+            tabelas.put(m.group(2), m.group(1));
+        }
+        List<Map<String, Object>> plano = jdbc.queryForList("EXPLAIN " + sql, valores);
+        for (Map<String, Object> linha : plano) {
+            String tabela = tabelas.getOrDefault(String.valueOf(linha.get("table")), String.valueOf(linha.get("table")));
+            String descricao = tabela + " " + linha + "\n" + sql;
+            if (!List.of(lidasInteiras).contains(tabela)) {
+                assertNotEquals("ALL", linha.get("type"), "Varredura completa: " + descricao);
+            }
+            if (chaves.containsKey(tabela)) {
+                assertEquals(chaves.get(tabela), linha.get("key"), "Índice: " + descricao);
+            }
+        }
+        assertFalse(plano.isEmpty());
+        assertTrue(plano.stream().map(l -> tabelas.get(String.valueOf(l.get("table")))).toList()
+                .containsAll(chaves.keySet()), "Tabelas esperadas no plano: " + chaves.keySet() + " em " + plano);
+    }
+
+    // 5% FILA, 10% PRODUCAO e o resto PRONTO, como num banco em uso
+    private static String status(Random random) {
+        int sorteio = random.nextInt(100);
+        if (sorteio < 5) {
+            return "FILA";
+        }
+        return sorteio < 15 ? "PRODUCAO" : "PRONTO";
+    }
+}
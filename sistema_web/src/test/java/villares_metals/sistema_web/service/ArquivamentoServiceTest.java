@@ -0,0 +1,147 @@
+package villares_metals.sistema_web.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.List;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import villares_metals.sistema_web.domain.OrdemServico;
+import villares_metals.sistema_web.domain.OrdemServicoArquivo;
+import villares_metals.sistema_web.dto.FiltroBusca;
+import villares_metals.sistema_web.repository.BuscaAvancadaRepository;
+
+// Arquivamento das ordens PRONTO e pagas, leitura de OS arquivada pelo getOS e
+// exclusão de produto usado no arquivo. Cada teste roda numa transação desfeita no fim.
+@SpringBootTest
+@ActiveProfiles("teste")
+@Transactional
+class ArquivamentoServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ArquivamentoService arquivamentoService;
+
+    @Autowired
+    private OrdemServicoService ordemServicoService;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private BuscaAvancadaRepository buscaAvancadaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private DadosTeste dados;
+    private int cliente;
+    private int produto;
+
+    @BeforeEach
+    void preparar() {
+        dados = new DadosTeste(jdbc);
+        cliente = dados.cliente("Cliente Arquivo");
+        produto = dados.produto("Barra Arquivo");
+    }
+
+    @Test
+    void moveSoOrdensProntasPagasEAntigas() {
+        LocalDate antiga = LocalDate.now().minusDays(400);
+        int arquivavel = dados.ordem(cliente, "PRONTO", true, antiga, 100);
+        int naoPaga = dados.ordem(cliente, "PRONTO", false, antiga, 100);
+        int emProducao = dados.ordem(cliente, "PRODUCAO", true, antiga, 100);
+        int recente = dados.ordem(cliente, "PRONTO", true, LocalDate.now().minusDays(10), 100);
+        dados.item(arquivavel, produto, 3);
+        dados.item(recente, produto, 1);
+
+        arquivamentoService.arquivarOrdensConcluidas();
+
+        assertEquals(0, dados.contar("SELECT COUNT(*) FROM ordem_servico WHERE n_os = ?", arquivavel));
+        assertEquals(0, dados.contar("SELECT COUNT(*) FROM ordena_produto WHERE id_os = ?", arquivavel));
+        assertEquals(1, dados.contar("SELECT COUNT(*) FROM ordem_servico_arquivo WHERE n_os = ?", arquivavel));
+        assertEquals(1, dados.contar("SELECT COUNT(*) FROM ordena_produto_arquivo WHERE id_os = ?", arquivavel));
+        for (int ativa : List.of(naoPaga, emProducao, recente)) {
+            assertEquals(1, dados.contar("SELECT COUNT(*) FROM ordem_servico WHERE n_os = ?", ativa));
+            assertEquals(0, dados.contar("SELECT COUNT(*) FROM ordem_servico_arquivo WHERE n_os = ?", ativa));
+        }
+        // a ordem arquivada sai da sincronização incremental com um registro de exclusão
+        assertEquals(1, dados.contar(
+                "SELECT COUNT(*) FROM registro_exclusao WHERE recurso = 'os' AND id_excluido = ?", arquivavel));
+    }
+
+    @Test
+    void getOSProcuraNoArquivo() {
+        int id = dados.ordem(cliente, "PRONTO", true, LocalDate.now().minusDays(400), 250.5);
+        dados.item(id, produto, 4);
+        arquivamentoService.arquivarOrdensConcluidas();
+        entityManager.clear();
+
+        OrdemServico os = ordemServicoService.getOS(id);
+
+        assertNotNull(os);
+        assertEquals(id, os.getIdOS());
+        assertEquals(250.5, os.getValorServico());
+        assertEquals("Cliente Arquivo", os.getCliente().getNomeCliente());
+        assertEquals(1, os.getItensDoPedido().size());
+        assertEquals(4, os.getItensDoPedido().get(0).getQuantidade());
+        assertEquals("Barra Arquivo", os.getItensDoPedido().get(0).getProduto().getNomeProduto());
+        assertNull(ordemServicoService.getOS(-1));
+    }
+
+    @Test
+    void buscaNoArquivoSemConsultaPorOrdem() {
+        LocalDate antiga = LocalDate.now().minusDays(400);
+        for (int i = 0; i < 5; i++) {
+            int id = dados.ordem(cliente, "PRONTO", true, antiga, 100 + i);
+            dados.item(id, produto, 1 + i);
+        }
+        arquivamentoService.arquivarOrdensConcluidas();
+        entityManager.clear();
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+        List<OrdemServicoArquivo> encontradas = buscaAvancadaRepository.buscarArquivo(
+                FiltroBusca.de(antiga, antiga, null, null, null, "PRONTO", null));
+
+        assertTrue(encontradas.size() >= 5);
+        for (OrdemServicoArquivo arquivada : encontradas) {
+            assertTrue(Hibernate.isInitialized(arquivada.getItensDoPedido()));
+        }
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void produtoUsadoNoArquivoNaoEExcluido() {
+        int id = dados.ordem(cliente, "PRONTO", true, LocalDate.now().minusDays(400), 100);
+        dados.item(id, produto, 1);
+        arquivamentoService.arquivarOrdensConcluidas();
+
+        ResponseStatusException erro = assertThrows(ResponseStatusException.class,
+                () -> produtoService.deleteProduto(produto));
+
+        assertEquals(HttpStatus.CONFLICT, erro.getStatusCode());
+        assertEquals(1, dados.contar("SELECT COUNT(*) FROM produto WHERE id_produto = ?", produto));
+    }
+}
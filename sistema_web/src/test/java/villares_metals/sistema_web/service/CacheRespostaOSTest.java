@@ -0,0 +1,83 @@
+package villares_metals.sistema_web.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class CacheRespostaOSTest {
+
+    private final CacheRespostaOS cache = new CacheRespostaOS(100, 40);
+
+    @Test
+    void descartaAsMenosUsadasAoPassarDoLimiteDeBytes() {
+        cache.guardar(1, new byte[30], cache.geracaoAtual());
+        cache.guardar(2, new byte[30], cache.geracaoAtual());
+        cache.guardar(3, new byte[30], cache.geracaoAtual());
+        cache.ler(1); // a 2 passa a ser a menos usada
+
+        cache.guardar(4, new byte[30], cache.geracaoAtual());
+
+        assertNull(cache.ler(2));
+        assertNotNull(cache.ler(1));
+        assertNotNull(cache.ler(3));
+        assertNotNull(cache.ler(4));
+        assertEquals(90, cache.getBytesGuardados());
+    }
+
+    @Test
+    void substituicaoDescontaOsBytesAnteriores() {
+        cache.guardar(1, new byte[30], cache.geracaoAtual());
+        cache.guardar(1, new byte[10], cache.geracaoAtual());
+
+        assertEquals(1, cache.tamanho());
+        assertEquals(10, cache.getBytesGuardados());
+    }
+
+    @Test
+    void naoGuardaEntradaAcimaDoLimitePorEntrada() {
+        cache.guardar(1, new byte[40], cache.geracaoAtual());
+        cache.guardar(2, new byte[41], cache.geracaoAtual());
+
+        assertNotNull(cache.ler(1));
+        assertNull(cache.ler(2));
+        assertEquals(40, cache.getBytesGuardados());
+    }
+
+    @Test
+    void leituraIniciadaAntesDeInvalidacaoNaoEGuardada() {
+        long geracao = cache.geracaoAtual(); // leitura do banco começa
+        cache.invalidar(7);                  // gravação confirma no meio da leitura
+        cache.guardar(7, new byte[10], geracao);
+        assertNull(cache.ler(7));
+
+        geracao = cache.geracaoAtual();
+        cache.limpar();
+        cache.guardar(7, new byte[10], geracao);
+        assertNull(cache.ler(7));
+
+        cache.guardar(7, new byte[10], cache.geracaoAtual());
+        assertNotNull(cache.ler(7));
+    }
+
+    @Test
+    void invalidacaoEsperaOCommit() {
+        byte[] json = {1, 2, 3};
+        cache.guardar(5, json, cache.geracaoAtual());
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidarAposCommit(5);
+            assertArrayEquals(json, cache.ler(5)); // antes do commit a versão confirmada continua valendo
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertNull(cache.ler(5));
+        assertEquals(0, cache.getBytesGuardados());
+    }
+}
@@ -0,0 +1,72 @@
+package villares_metals.sistema_web.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import villares_metals.sistema_web.domain.Cliente;
+import villares_metals.sistema_web.dto.SugestaoCliente;
+
+// Índice de sugestões de clientes acompanhando o banco: muda só no commit, nunca no rollback
+@SpringBootTest
+@ActiveProfiles("teste")
+class ClienteServiceTest {
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void sugestaoSoEntraNoCommit() {
+        transactionTemplate.executeWithoutResult(status -> {
+            clienteService.postCliente(cliente(null, "Fundição Desfeita"));
+            assertEquals(List.of(), nomes("fundicao desf")); // ainda sem commit
+            status.setRollbackOnly();
+        });
+        assertEquals(List.of(), nomes("fundicao desf"));
+
+        Integer id = clienteService.postCliente(cliente(null, "Fundição Confirmada")).getIdCliente();
+        assertEquals(List.of("Fundição Confirmada"), nomes("fundicao conf"));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            clienteService.postCliente(cliente(id, "Fundição Renomeada"));
+            status.setRollbackOnly();
+        });
+        assertEquals(List.of("Fundição Confirmada"), nomes("fundicao conf"));
+        assertEquals(List.of(), nomes("fundicao renom"));
+    }
+
+    @Test
+    void exclusaoDesfeitaMantemSugestao() {
+        Integer id = clienteService.postCliente(cliente(null, "Caldeiraria Mantida")).getIdCliente();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            clienteService.deleteCliente(id);
+            status.setRollbackOnly();
+        });
+        assertEquals(List.of("Caldeiraria Mantida"), nomes("caldeiraria mant"));
+
+        clienteService.deleteCliente(id);
+        assertEquals(List.of(), nomes("caldeiraria mant"));
+    }
+
+    private List<String> nomes(String termo) {
+        return clienteService.sugerirClientes(termo, 10).stream().map(SugestaoCliente::nomeCliente).toList();
+    }
+
+    static Cliente cliente(Integer id, String nome) {
+        Cliente cliente = new Cliente();
+        cliente.setIdCliente(id);
+        cliente.setNomeCliente(nome);
+        cliente.setCnpjCliente("98.765.432/0001-10");
+        cliente.setTelefoneCliente("(19) 3303-2000");
+        cliente.setEmailCliente("compras@exemplo.com.br");
+        return cliente;
+    }
+}
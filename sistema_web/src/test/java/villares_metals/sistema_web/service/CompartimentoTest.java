@@ -0,0 +1,77 @@
+package villares_metals.sistema_web.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import villares_metals.sistema_web.dto.EstatisticasCompartimento;
+
+class CompartimentoTest {
+
+    @Test
+    void rejeitaNaHoraComFilaCheia() throws Exception {
+        Compartimento compartimento = new Compartimento("teste", 1, 1, 5_000);
+        assertTrue(compartimento.entrar());
+        CompletableFuture<Boolean> naFila = CompletableFuture.supplyAsync(() -> entrar(compartimento));
+        esperarFila(compartimento, 1);
+
+        long inicio = System.nanoTime();
+        assertFalse(compartimento.entrar());
+        assertTrue(System.nanoTime() - inicio < TimeUnit.SECONDS.toNanos(1), "fila cheia deve rejeitar sem esperar");
+
+        compartimento.sair();
+        assertTrue(naFila.get(5, TimeUnit.SECONDS));
+        EstatisticasCompartimento estatisticas = compartimento.estatisticas();
+        assertEquals(1, estatisticas.rejeitadasFilaCheia());
+        assertEquals(2, estatisticas.aceitas());
+    }
+
+    @Test
+    void rejeitaQuandoOTempoDeEsperaAcaba() throws Exception {
+        Compartimento compartimento = new Compartimento("teste", 1, 5, 50);
+        assertTrue(compartimento.entrar());
+
+        long inicio = System.nanoTime();
+        assertFalse(compartimento.entrar());
+
+        assertTrue(System.nanoTime() - inicio >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(1, compartimento.estatisticas().rejeitadasTempo());
+        assertEquals(0, compartimento.estatisticas().naFila());
+    }
+
+    // Vaga liberada vai para quem já está na fila, não para quem acabou de chegar
+    @Test
+    void quemChegaDepoisNaoFuraAFila() throws Exception {
+        Compartimento compartimento = new Compartimento("teste", 1, 5, 1_000);
+        assertTrue(compartimento.entrar());
+        CompletableFuture<Boolean> naFila = CompletableFuture.supplyAsync(() -> entrar(compartimento));
+        esperarFila(compartimento, 1);
+
+        compartimento.sair();
+        boolean recemChegado = compartimento.entrar(); // a vaga já é de quem esperava
+
+        assertTrue(naFila.get(5, TimeUnit.SECONDS));
+        assertFalse(recemChegado);
+        assertEquals(1, compartimento.getAtivas());
+    }
+
+    private static boolean entrar(Compartimento compartimento) {
+        try {
+            return compartimento.entrar();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void esperarFila(Compartimento compartimento, int tamanho) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (compartimento.estatisticas().naFila() < tamanho && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(50); // a thread chega ao tryAcquire com espera logo depois de entrar na fila
+    }
+}
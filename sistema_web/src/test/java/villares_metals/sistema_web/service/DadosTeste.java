@@ -0,0 +1,66 @@
+package villares_metals.sistema_web.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
+
+// Linhas de teste gravadas direto por JDBC (como num banco já existente), devolvendo os ids
+public class DadosTeste {
+
+    private final JdbcTemplate jdbc;
+
+    public DadosTeste(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public int cliente(String nome) {
+        return inserir("dados_cliente", "id_cliente", Map.of(
+                "nome_cliente", nome,
+                "cnpj_cliente", "12.345.678/0001-90",
+                "telefone_cliente", "(19) 3303-1000",
+                "email_cliente", "contato@exemplo.com.br"));
+    }
+
+    public int produto(String nome) {
+        return inserir("produto", "id_produto", Map.of(
+                "nome_produto", nome,
+                "peso_entrada", new BigDecimal("10.00"),
+                "peso_saida", new BigDecimal("9.50")));
+    }
+
+    public int ordem(int idCliente, String status, boolean pago, LocalDate entrega, double valor) {
+        return inserir("ordem_servico", "n_os", Map.of(
+                "id_cliente", idCliente,
+                "status_producao", status,
+                "status_pagamento", pago,
+                "data_entrega", entrega,
+                "data_aprovacao", entrega.minusDays(30).atStartOfDay(),
+                "valor_servico", BigDecimal.valueOf(valor),
+                "descricao_pedido", "Ordem de teste"));
+    }
+
+    public void item(int idOS, int idProduto, int quantidade) {
+        jdbc.update("INSERT INTO ordena_produto (id_os, id_produto, quantidade) VALUES (?, ?, ?)",
+                idOS, idProduto, quantidade);
+    }
+
+    public void aprovadaEm(int idOS, LocalDateTime dataAprovacao) {
+        jdbc.update("UPDATE ordem_servico SET data_aprovacao = ? WHERE n_os = ?", dataAprovacao, idOS);
+    }
+
+    public int contar(String sql, Object... parametros) {
+        return jdbc.queryForObject(sql, Integer.class, parametros);
+    }
+
+    private int inserir(String tabela, String chave, Map<String, Object> colunas) {
+        return new SimpleJdbcInsert(jdbc)
+                .withTableName(tabela)
+                .usingColumns(colunas.keySet().toArray(String[]::new))
+                .usingGeneratedKeyColumns(chave)
+                .executeAndReturnKey(colunas)
+                .intValue();
+    }
+}
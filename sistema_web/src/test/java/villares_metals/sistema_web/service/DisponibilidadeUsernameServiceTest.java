@@ -0,0 +1,101 @@
+package villares_metals.sistema_web.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import villares_metals.sistema_web.domain.Funcionario;
+
+// Filtro de usernames: sem falso negativo com rollback, reconstrução simultânea e
+// variações que a collation do MySQL considera iguais
+@SpringBootTest
+@ActiveProfiles("teste")
+class DisponibilidadeUsernameServiceTest {
+
+    @Autowired
+    private DisponibilidadeUsernameService disponibilidade;
+
+    @Autowired
+    private FuncionarioService funcionarioService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void usernameLivreRespondidoSemBanco() {
+        Statistics estatisticas = estatisticas();
+        estatisticas.clear();
+
+        assertTrue(disponibilidade.isDisponivel("ninguem.cadastrado"));
+        assertEquals(0, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void cadastroDesfeitoNaoEntraNoFiltro() {
+        transactionTemplate.executeWithoutResult(status -> {
+            funcionarioService.postFuncionario(funcionario("cadastro.desfeito"));
+            status.setRollbackOnly();
+        });
+        Statistics estatisticas = estatisticas();
+        estatisticas.clear();
+
+        assertTrue(disponibilidade.isDisponivel("cadastro.desfeito"));
+        assertEquals(0, estatisticas.getPrepareStatementCount());
+    }
+
+    // A carga lê o banco sem o cadastro ainda não confirmado; o commit vem depois e
+    // o username tem de estar no filtro novo
+    @Test
+    void cadastroDuranteReconstrucaoNaoSePerde() {
+        transactionTemplate.executeWithoutResult(status -> {
+            funcionarioService.postFuncionario(funcionario("durante.carga"));
+            disponibilidade.carregar();
+        });
+
+        assertFalse(disponibilidade.isDisponivel("durante.carga"));
+    }
+
+    @Test
+    void exclusaoLiberaOUsername() {
+        Funcionario salvo = funcionarioService.postFuncionario(funcionario("vai.sair"));
+        assertFalse(disponibilidade.isDisponivel("vai.sair"));
+
+        funcionarioService.deleteFuncionario(salvo.getIdFuncionario());
+
+        assertTrue(disponibilidade.isDisponivel("vai.sair"));
+    }
+
+    @Test
+    void chaveSegueACollationDoMySQL() {
+        assertEquals(DisponibilidadeUsernameService.chave("strasse"), DisponibilidadeUsernameService.chave("Straße"));
+        assertEquals(DisponibilidadeUsernameService.chave("jose"), DisponibilidadeUsernameService.chave("JOSÉ"));
+        assertEquals(DisponibilidadeUsernameService.chave("aeon"), DisponibilidadeUsernameService.chave("Æon"));
+        assertEquals(DisponibilidadeUsernameService.chave("file"), DisponibilidadeUsernameService.chave("ﬁle"));
+        assertEquals(DisponibilidadeUsernameService.chave("lodz"), DisponibilidadeUsernameService.chave("Łódź"));
+        assertEquals(DisponibilidadeUsernameService.chave("ab"), DisponibilidadeUsernameService.chave("a​b"));
+        assertNotEquals(DisponibilidadeUsernameService.chave("ana"), DisponibilidadeUsernameService.chave("anna"));
+    }
+
+    private Statistics estatisticas() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static Funcionario funcionario(String username) {
+        Funcionario funcionario = new Funcionario();
+        funcionario.setUserFuncionario(username);
+        funcionario.setSenhaFuncionario("senha-de-teste");
+        return funcionario;
+    }
+}
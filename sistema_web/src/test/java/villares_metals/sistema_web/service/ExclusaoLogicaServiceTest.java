@@ -0,0 +1,86 @@
+package villares_metals.sistema_web.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+// Exclusão lógica (exclusao.modo=logica): as linhas ficam no banco com excluido_em
+// e somem das consultas da aplicação
+@SpringBootTest
+@ActiveProfiles("teste")
+@TestPropertySource(properties = "exclusao.modo=logica")
+@Transactional
+class ExclusaoLogicaServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private OrdemServicoService ordemServicoService;
+
+    @Autowired
+    private ArquivamentoService arquivamentoService;
+
+    private DadosTeste dados;
+    private int produto;
+
+    @BeforeEach
+    void preparar() {
+        dados = new DadosTeste(jdbc);
+        produto = dados.produto("Chapa Logica");
+    }
+
+    @Test
+    void marcaClienteEOrdensSemApagar() {
+        int cliente = dados.cliente("Cliente Logico");
+        int arquivada = dados.ordem(cliente, "PRONTO", true, LocalDate.now().minusDays(400), 100);
+        dados.item(arquivada, produto, 1);
+        arquivamentoService.arquivarOrdensConcluidas();
+        int ativa = dados.ordem(cliente, "PRODUCAO", false, LocalDate.now().plusDays(5), 100);
+        dados.item(ativa, produto, 2);
+
+        clienteService.deleteCliente(cliente);
+
+        assertEquals(1, dados.contar("SELECT COUNT(*) FROM dados_cliente WHERE id_cliente = ?"
+                + " AND excluido_em IS NOT NULL", cliente));
+        assertEquals(1, dados.contar("SELECT COUNT(*) FROM ordem_servico WHERE n_os = ?"
+                + " AND excluido_em IS NOT NULL", ativa));
+        assertEquals(1, dados.contar("SELECT COUNT(*) FROM ordem_servico_arquivo WHERE n_os = ?"
+                + " AND excluido_em IS NOT NULL", arquivada));
+        assertEquals(1, dados.contar("SELECT COUNT(*) FROM ordena_produto WHERE id_os = ?", ativa));
+        assertEquals(1, dados.contar(
+                "SELECT COUNT(*) FROM registro_exclusao WHERE recurso = 'cliente' AND id_excluido = ?", cliente));
+
+        assertNull(clienteService.getCliente(cliente));
+        assertNull(ordemServicoService.getOS(ativa));
+        assertNull(ordemServicoService.getOS(arquivada));
+    }
+
+    @Test
+    void marcaSoAOrdemExcluida() {
+        int cliente = dados.cliente("Cliente OS Logica");
+        int excluida = dados.ordem(cliente, "PRODUCAO", false, LocalDate.now().plusDays(5), 100);
+        int mantida = dados.ordem(cliente, "PRODUCAO", false, LocalDate.now().plusDays(6), 100);
+
+        ordemServicoService.deleteOS(excluida);
+
+        assertEquals(1, dados.contar("SELECT COUNT(*) FROM ordem_servico WHERE n_os = ?"
+                + " AND excluido_em IS NOT NULL", excluida));
+        assertNull(ordemServicoService.getOS(excluida));
+        assertEquals(mantida, ordemServicoService.getOS(mantida).getIdOS());
+        assertEquals(1, dados.contar("SELECT COUNT(*) FROM dados_cliente WHERE id_cliente = ?"
+                + " AND excluido_em IS NULL", cliente));
+    }
+}
@@ -0,0 +1,144 @@
+package villares_metals.sistema_web.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+// Exclusão física (padrão): itens, ordens ativas e arquivadas e o cliente saem do banco
+// com um número fixo de comandos, qualquer que seja o tamanho do cliente
+@SpringBootTest
+@ActiveProfiles("teste")
+@Transactional
+class ExclusaoServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private OrdemServicoService ordemServicoService;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private ArquivamentoService arquivamentoService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private DadosTeste dados;
+    private int produto;
+
+    @BeforeEach
+    void preparar() {
+        dados = new DadosTeste(jdbc);
+        produto = dados.produto("Chapa Exclusao");
+    }
+
+    @Test
+    void excluiClienteComOrdensItensEArquivo() {
+        int cliente = clienteComOrdens("Cliente Excluido", 3);
+        int outro = clienteComOrdens("Cliente Mantido", 1);
+
+        clienteService.deleteCliente(cliente);
+
+        assertEquals(0, dados.contar("SELECT COUNT(*) FROM dados_cliente WHERE id_cliente = ?", cliente));
+        assertEquals(0, dados.contar("SELECT COUNT(*) FROM ordem_servico WHERE id_cliente = ?", cliente));
+        assertEquals(0, dados.contar("SELECT COUNT(*) FROM ordem_servico_arquivo WHERE id_cliente = ?", cliente));
+        assertEquals(0, dados.contar("SELECT COUNT(*) FROM ordena_produto i JOIN ordem_servico o ON o.n_os = i.id_os"
+                + " WHERE o.id_cliente = ?", cliente));
+        assertEquals(1, dados.contar("SELECT COUNT(*) FROM dados_cliente WHERE id_cliente = ?", outro));
+        assertEquals(2, dados.contar("SELECT COUNT(*) FROM ordem_servico WHERE id_cliente = ?", outro)
+                + dados.contar("SELECT COUNT(*) FROM ordem_servico_arquivo WHERE id_cliente = ?", outro));
+        // cliente e ordens (ativas e arquivadas) registrados para a sincronização incremental
+        assertEquals(1, dados.contar(
+                "SELECT COUNT(*) FROM registro_exclusao WHERE recurso = 'cliente' AND id_excluido = ?", cliente));
+        // duas ordens registradas no arquivamento e as três ativas na exclusão
+        assertEquals(5, dados.contar("SELECT COUNT(*) FROM registro_exclusao WHERE recurso = 'os'"));
+    }
+
+    // Os resumos recebem um comando por dia distinto das ordens, então todas na mesma data
+    @Test
+    void custoNaoCresceComONumeroDeOrdens() {
+        int pequeno = clienteComOrdens("Cliente Pequeno", 1);
+        int grande = clienteComOrdens("Cliente Grande", 40);
+
+        assertEquals(comandosParaExcluir(pequeno), comandosParaExcluir(grande));
+    }
+
+    @Test
+    void excluiOrdemAtivaEArquivada() {
+        int cliente = dados.cliente("Cliente OS");
+        int ativa = dados.ordem(cliente, "PRODUCAO", false, LocalDate.now().plusDays(5), 100);
+        int arquivada = dados.ordem(cliente, "PRONTO", true, LocalDate.now().minusDays(400), 100);
+        dados.item(ativa, produto, 2);
+        dados.item(arquivada, produto, 2);
+        arquivamentoService.arquivarOrdensConcluidas();
+
+        ordemServicoService.deleteOS(ativa);
+        ordemServicoService.deleteOS(arquivada);
+
+        assertNull(ordemServicoService.getOS(ativa));
+        assertNull(ordemServicoService.getOS(arquivada));
+        assertEquals(0, dados.contar("SELECT COUNT(*) FROM ordena_produto WHERE id_os = ?", ativa));
+        assertEquals(0, dados.contar("SELECT COUNT(*) FROM ordena_produto_arquivo WHERE id_os = ?", arquivada));
+        assertEquals(1, dados.contar("SELECT COUNT(*) FROM dados_cliente WHERE id_cliente = ?", cliente));
+    }
+
+    @Test
+    void produtoUsadoEmOrdemAtivaNaoEExcluido() {
+        int cliente = dados.cliente("Cliente Produto");
+        int ordem = dados.ordem(cliente, "PRODUCAO", false, LocalDate.now().plusDays(5), 100);
+        dados.item(ordem, produto, 1);
+
+        ResponseStatusException erro = assertThrows(ResponseStatusException.class,
+                () -> produtoService.deleteProduto(produto));
+
+        assertEquals(HttpStatus.CONFLICT, erro.getStatusCode());
+        assertEquals(1, dados.contar("SELECT COUNT(*) FROM produto WHERE id_produto = ?", produto));
+
+        ordemServicoService.deleteOS(ordem);
+        produtoService.deleteProduto(produto);
+        assertNull(produtoService.getProduto(produto));
+    }
+
+    // uma ordem arquivada e as demais ativas (mesma data), cada uma com dois itens
+    private int clienteComOrdens(String nome, int ativas) {
+        int cliente = dados.cliente(nome);
+        int arquivada = dados.ordem(cliente, "PRONTO", true, LocalDate.now().minusDays(400), 100);
+        dados.item(arquivada, produto, 1);
+        arquivamentoService.arquivarOrdensConcluidas();
+        int outroProduto = dados.produto(nome + " 2");
+        for (int i = 0; i < ativas; i++) {
+            int ordem = dados.ordem(cliente, "PRODUCAO", false, LocalDate.now().plusDays(5), 100);
+            dados.item(ordem, produto, 1);
+            dados.item(ordem, outroProduto, 1);
+        }
+        return cliente;
+    }
+
+    private long comandosParaExcluir(int cliente) {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+        clienteService.deleteCliente(cliente);
+        return estatisticas.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,317 @@
+package villares_metals.sistema_web.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.IContext;
+import villares_metals.sistema_web.domain.OrdemServico;
+
+// Fichas de impressão: seleção do dia (só FILA) x ids escolhidos com os templates de verdade;
+// com um motor de templates falso, a saída na ordem de entrada mesmo com fichas terminando fora
+// de ordem, a janela de 2 x pool fichas em andamento, a fila cheia renderizando na thread de quem
+// pediu (CallerRunsPolicy) e o descarte das fichas pendentes quando uma falha ou o cliente cai.
+@SpringBootTest
+@ActiveProfiles("teste")
+class FichaOSServiceTest {
+
+    private static final Pattern NUMERO_OS = Pattern.compile("OS nº (\\d+)");
+    private static final Pattern FICHA_FALSA = Pattern.compile("\\[(\\d+)\\]");
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private FichaOSService fichaOSService;
+
+    private final List<FichaOSService> criados = new ArrayList<>();
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private final AtomicInteger iniciadas = new AtomicInteger();
+    private final AtomicInteger concluidas = new AtomicInteger();
+    private final AtomicInteger interrompidas = new AtomicInteger();
+    private final AtomicInteger naThreadDeQuemPediu = new AtomicInteger();
+
+    @AfterEach
+    void encerrar() {
+        liberar.countDown();
+        criados.forEach(FichaOSService::encerrar);
+    }
+
+    @Test
+    void fichasDoDiaSaoAsEmFilaEIdsTrazemQualquerStatus() throws IOException {
+        DadosTeste dados = new DadosTeste(jdbc);
+        int cliente = dados.cliente("Cliente Fichas");
+        int produto = dados.produto("Barra Fichas");
+        LocalDate dia = LocalDate.of(2093, 4, 14);
+        int fila1 = dados.ordem(cliente, "FILA", false, dia, 100);
+        int producao = dados.ordem(cliente, "PRODUCAO", false, dia, 100);
+        int fila2 = dados.ordem(cliente, "FILA", false, dia, 100);
+        int outroDia = dados.ordem(cliente, "FILA", false, dia.plusDays(1), 100);
+        dados.item(fila1, produto, 3);
+        dados.item(fila1, produto, 5);
+
+        List<OrdemServico> doDia = fichaOSService.buscarFichasDoDia(dia);
+        List<OrdemServico> escolhidas = fichaOSService.buscarFichas(List.of(outroDia, producao, fila2));
+
+        assertEquals(List.of(fila1, fila2), doDia.stream().map(OrdemServico::getIdOS).toList());
+        assertEquals(List.of(producao, fila2, outroDia), escolhidas.stream().map(OrdemServico::getIdOS).toList());
+
+        // itens e produtos já vêm carregados: renderiza fora de transação
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        fichaOSService.renderizar(doDia, "Fichas do dia", saida);
+        String html = saida.toString(StandardCharsets.UTF_8);
+        assertEquals(List.of(fila1, fila2), numeros(NUMERO_OS, html));
+        assertTrue(html.contains("<title>Fichas do dia</title>"));
+        assertTrue(html.contains("Barra Fichas"));
+        assertTrue(html.trim().endsWith("</html>"));
+    }
+
+    @Test
+    void saidaSegueAOrdemDeEntradaMesmoComFichasTerminandoForaDeOrdem() throws IOException {
+        // as primeiras demoram mais: terminam depois das seguintes
+        FichaOSService servico = servico(4, id -> {
+            dormir(Math.max(0, 40 - id * 4));
+            return "[" + id + "]";
+        });
+        List<Integer> ids = IntStream.rangeClosed(1, 30).boxed().toList();
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        servico.renderizar(ordens(ids), "Ordem", saida);
+
+        String html = saida.toString(StandardCharsets.UTF_8);
+        assertEquals(ids, numeros(FICHA_FALSA, html));
+        assertTrue(html.startsWith("<html><title>Ordem</title>"));
+        assertTrue(html.endsWith("</html>"));
+    }
+
+    @Test
+    void soUmaJanelaDeFichasFicaEmAndamento() throws Exception {
+        // 2 threads: janela de 4; a primeira ficha segura a escrita
+        FichaOSService servico = servico(2, id -> {
+            if (id == 1) {
+                aguardarLiberacao();
+            }
+            return "[" + id + "]";
+        });
+        List<Integer> ids = IntStream.rangeClosed(1, 20).boxed().toList();
+        ExecutorService pedido = Executors.newSingleThreadExecutor();
+        try {
+            ByteArrayOutputStream saida = new ByteArrayOutputStream();
+            Future<?> renderizacao = pedido.submit(() -> {
+                servico.renderizar(ordens(ids), "Janela", saida);
+                return null;
+            });
+
+            esperar(() -> iniciadas.get() == 4);
+            Thread.sleep(200);
+            assertEquals(4, iniciadas.get());
+
+            liberar.countDown();
+            renderizacao.get(10, TimeUnit.SECONDS);
+            assertEquals(20, iniciadas.get());
+            assertEquals(ids, numeros(FICHA_FALSA, saida.toString(StandardCharsets.UTF_8)));
+        } finally {
+            pedido.shutdownNow();
+        }
+    }
+
+    @Test
+    void filaCheiaRenderizaNaThreadDeQuemPediu() throws Exception {
+        // 1 thread (janela 2, fila 8) presa: 5 pedidos de 2 fichas = 1 rodando + 8 na fila + 1 a mais
+        FichaOSService servico = servico(1, id -> {
+            if (Thread.currentThread().getName().startsWith("fichas-os-")) {
+                aguardarLiberacao();
+            } else {
+                naThreadDeQuemPediu.incrementAndGet();
+            }
+            return "[" + id + "]";
+        });
+        ExecutorService pedidos = Executors.newFixedThreadPool(5);
+        try {
+            List<Future<String>> respostas = new ArrayList<>();
+            for (int p = 0; p < 5; p++) {
+                List<Integer> ids = List.of(p * 10 + 1, p * 10 + 2);
+                respostas.add(pedidos.submit(() -> {
+                    ByteArrayOutputStream saida = new ByteArrayOutputStream();
+                    servico.renderizar(ordens(ids), "Pedido", saida);
+                    return saida.toString(StandardCharsets.UTF_8);
+                }));
+            }
+
+            esperar(() -> naThreadDeQuemPediu.get() == 1);
+            liberar.countDown();
+
+            for (int p = 0; p < 5; p++) {
+                assertEquals(List.of(p * 10 + 1, p * 10 + 2),
+                        numeros(FICHA_FALSA, respostas.get(p).get(10, TimeUnit.SECONDS)));
+            }
+            assertEquals(1, naThreadDeQuemPediu.get());
+        } finally {
+            pedidos.shutdownNow();
+        }
+    }
+
+    @Test
+    void fichaComErroDescartaAsPendentes() throws Exception {
+        // 2 threads, janela 4: a 1 falha quando liberada; a 2 está rodando e as 3 e 4 na fila
+        FichaOSService servico = servico(2, id -> {
+            if (id == 1) {
+                aguardarLiberacao();
+                throw new IllegalStateException("template quebrado");
+            }
+            return pendurar(id);
+        });
+        List<Integer> ids = IntStream.rangeClosed(1, 10).boxed().toList();
+        ExecutorService pedido = Executors.newSingleThreadExecutor();
+        try {
+            ByteArrayOutputStream saida = new ByteArrayOutputStream();
+            Future<?> renderizacao = pedido.submit(() -> {
+                servico.renderizar(ordens(ids), "Erro", saida);
+                return null;
+            });
+            esperar(() -> iniciadas.get() == 2);
+
+            liberar.countDown();
+            Exception erro = assertThrows(Exception.class, () -> renderizacao.get(10, TimeUnit.SECONDS));
+
+            IOException causa = assertInstanceOf(IOException.class, erro.getCause());
+            assertEquals("template quebrado", causa.getCause().getMessage());
+            assertFichasPendentesDescartadas();
+            assertFalse(saida.toString(StandardCharsets.UTF_8).contains("</html>"));
+        } finally {
+            pedido.shutdownNow();
+        }
+    }
+
+    @Test
+    void clienteDesconectadoDescartaAsPendentes() throws Exception {
+        // fichas grandes estouram o buffer do writer: a primeira escrita já falha
+        FichaOSService servico = servico(2, id -> id == 1 ? "[1]" + "x".repeat(16 * 1024) : pendurar(id));
+        OutputStream desconectado = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        IOException erro = assertThrows(IOException.class,
+                () -> servico.renderizar(ordens(IntStream.rangeClosed(1, 10).boxed().toList()), "Queda", desconectado));
+
+        assertEquals("Broken pipe", erro.getMessage());
+        assertFichasPendentesDescartadas();
+    }
+
+    // nenhuma ficha além da janela começou, e as que estavam rodando foram interrompidas
+    private void assertFichasPendentesDescartadas() throws InterruptedException {
+        esperar(() -> interrompidas.get() == iniciadas.get() - 1);
+        Thread.sleep(200);
+        assertTrue(iniciadas.get() <= 4, "fichas iniciadas: " + iniciadas.get());
+        assertEquals(iniciadas.get() - 1, interrompidas.get());
+        assertEquals(0, concluidas.get());
+    }
+
+    private FichaOSService servico(int threads, IntFunction<String> ficha) {
+        ITemplateEngine motor = mock(ITemplateEngine.class);
+        when(motor.process(eq("fichas/documento"), any(IContext.class))).thenAnswer(chamada -> {
+            IContext contexto = chamada.getArgument(1);
+            return "<html><title>" + contexto.getVariable("titulo") + "</title><!--FICHAS--></html>";
+        });
+        when(motor.process(eq("fichas/ficha"), any(IContext.class))).thenAnswer(chamada -> {
+            IContext contexto = chamada.getArgument(1);
+            iniciadas.incrementAndGet();
+            return ficha.apply(((OrdemServico) contexto.getVariable("os")).getIdOS());
+        });
+        FichaOSService servico = new FichaOSService(null, motor, threads);
+        criados.add(servico);
+        return servico;
+    }
+
+    // ficha que só termina se for interrompida (cancelamento)
+    private String pendurar(int id) {
+        try {
+            Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+            concluidas.incrementAndGet();
+            return "[" + id + "]";
+        } catch (InterruptedException e) {
+            interrompidas.incrementAndGet();
+            throw new IllegalStateException("cancelada", e);
+        }
+    }
+
+    private void aguardarLiberacao() {
+        try {
+            liberar.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static List<OrdemServico> ordens(List<Integer> ids) {
+        return ids.stream().map(id -> {
+            OrdemServico os = new OrdemServico();
+            os.setIdOS(id);
+            return os;
+        }).toList();
+    }
+
+    private static List<Integer> numeros(Pattern padrao, String html) {
+        List<Integer> encontrados = new ArrayList<>();
+        Matcher m = padrao.matcher(html);
+        while (m.find()) {
+            encontrados.add(Integer.valueOf(m.group(1)));
+        }
+        return encontrados;
+    }
+
+    private static void esperar(BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condicao.getAsBoolean()) {
+            assertTrue(System.nanoTime() < limite, "condição não atingida em 10 s");
+            Thread.sleep(10);
+        }
+    }
+
+    private static void dormir(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package villares_metals.sistema_web.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class HistogramaLogTest {
+
+    @Test
+    void faixaCobreOIntervaloDaDocumentacao() {
+        assertEquals(0, HistogramaLog.faixa(0));
+        assertEquals(0, HistogramaLog.faixa(-5)); // duração negativa conta como zero
+        for (long minutos = 0; minutos <= 600_000; minutos += 1 + minutos / 50) {
+            int faixa = HistogramaLog.faixa(minutos);
+            double inferior = Math.pow(1.1, faixa) - 1;
+            double superior = Math.pow(1.1, faixa + 1) - 1;
+            assertTrue(inferior <= minutos + 1e-9 && minutos < superior + 1e-9,
+                    minutos + " fora da faixa " + faixa);
+            double valor = HistogramaLog.valorDaFaixa(faixa);
+            assertTrue(inferior <= valor && valor < superior, "valor da faixa " + faixa + " fora dela");
+        }
+        // um ano em ~140 faixas
+        assertTrue(HistogramaLog.faixa(365L * 24 * 60) <= 140);
+    }
+
+    @Test
+    void percentisDeDistribuicaoUniforme() {
+        HistogramaLog histograma = new HistogramaLog();
+        for (long minutos = 1; minutos <= 10_000; minutos++) {
+            histograma.somar(HistogramaLog.faixa(minutos), 1);
+        }
+
+        assertEquals(10_000, histograma.getTotal());
+        assertProximo(5_000, histograma.percentil(0.5));
+        assertProximo(9_000, histograma.percentil(0.9));
+        assertProximo(9_900, histograma.percentil(0.99));
+        assertProximo(1, histograma.percentil(0));
+        assertProximo(10_000, histograma.percentil(1));
+    }
+
+    @Test
+    void percentisDeDistribuicaoConcentrada() {
+        HistogramaLog histograma = new HistogramaLog();
+        histograma.somar(HistogramaLog.faixa(60), 90);        // 90% em uma hora
+        histograma.somar(HistogramaLog.faixa(3 * 1440), 10);  // 10% em três dias
+
+        assertProximo(60, histograma.percentil(0.5));
+        assertProximo(60, histograma.percentil(0.9));
+        assertProximo(3 * 1440, histograma.percentil(0.91));
+        assertProximo(3 * 1440, histograma.percentil(0.99));
+        assertEquals(0, new HistogramaLog().percentil(0.5));
+    }
+
+    @Test
+    void juntarEquivaleASomarTudoNumSo() {
+        Random random = new Random(7);
+        HistogramaLog janeiro = new HistogramaLog();
+        HistogramaLog fevereiro = new HistogramaLog();
+        HistogramaLog tudo = new HistogramaLog();
+        for (int i = 0; i < 5_000; i++) {
+            long minutos = (long) Math.exp(random.nextDouble() * 12); // de minutos a meses
+            (i % 3 == 0 ? janeiro : fevereiro).somar(HistogramaLog.faixa(minutos), 1);
+            tudo.somar(HistogramaLog.faixa(minutos), 1);
+        }
+
+        HistogramaLog juntos = new HistogramaLog();
+        juntos.somar(janeiro);
+        juntos.somar(fevereiro);
+
+        assertEquals(tudo.getTotal(), juntos.getTotal());
+        for (double p : new double[] {0.1, 0.5, 0.9, 0.95, 0.99}) {
+            assertEquals(tudo.percentil(p), juntos.percentil(p));
+        }
+        assertEquals(janeiro.getTotal() + fevereiro.getTotal(), juntos.getTotal());
+    }
+
+    // erro relativo da faixa logarítmica: ~5% sobre (minutos + 1)
+    private static void assertProximo(double esperado, double obtido) {
+        assertEquals(esperado, obtido, 0.05 * (esperado + 1), "percentil");
+    }
+}
@@ -0,0 +1,93 @@
+package villares_metals.sistema_web.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import villares_metals.sistema_web.dto.SugestaoProduto;
+
+class IndicePrefixoTest {
+
+    private final IndicePrefixo<SugestaoProduto> indice = new IndicePrefixo<>(
+            SugestaoProduto::idProduto,
+            p -> IndicePrefixo.chavesPorPalavra(p.nomeProduto()));
+
+    @Test
+    void encontraPorPrefixoDeQualquerPalavraSemAcento() {
+        indice.carregar(List.of(
+                new SugestaoProduto(1, "Aço Inox 304"),
+                new SugestaoProduto(2, "Barra de aço"),
+                new SugestaoProduto(3, "Acabamento")));
+
+        assertEquals(List.of(2, 1), ids(indice.buscar(IndicePrefixo.normalizar("AÇO"), 10))); // ordem das chaves
+        assertEquals(List.of(3, 2, 1), ids(indice.buscar("ac", 10)));
+        assertEquals(List.of(1), ids(indice.buscar("inox 3", 10)));
+        assertEquals(List.of(), ids(indice.buscar("inoxx", 10)));
+        assertEquals(List.of(), ids(indice.buscar("", 10)));
+    }
+
+    @Test
+    void respeitaLimiteSemRepetirItem() {
+        indice.carregar(List.of(
+                new SugestaoProduto(1, "aco aco aco"),
+                new SugestaoProduto(2, "aco"),
+                new SugestaoProduto(3, "aco")));
+
+        assertEquals(List.of(1, 2), ids(indice.buscar("aco", 2)));
+        assertEquals(3, indice.buscar("aco", 10).size());
+    }
+
+    @Test
+    void atualizacaoTrocaAsChavesDoItem() {
+        indice.carregar(List.of(new SugestaoProduto(1, "Chapa fina"), new SugestaoProduto(2, "Chapa grossa")));
+
+        indice.atualizar(new SugestaoProduto(1, "Tubo redondo"));
+        indice.atualizar(new SugestaoProduto(4, "Chapa nova"));
+        indice.remover(2);
+        indice.remover(99);
+
+        assertEquals(List.of(4), ids(indice.buscar("chapa", 10)));
+        assertEquals(List.of(1), ids(indice.buscar("red", 10)));
+        assertEquals("Tubo redondo", indice.buscar("tubo", 10).get(0).nomeProduto());
+        assertEquals(2, indice.tamanho());
+    }
+
+    @Test
+    void semTransacaoAposCommitAplicaNaHora() {
+        indice.atualizarAposCommit(new SugestaoProduto(1, "Perfil"));
+        assertEquals(List.of(1), ids(indice.buscar("perf", 10)));
+        indice.removerAposCommit(1);
+        assertEquals(List.of(), ids(indice.buscar("perf", 10)));
+    }
+
+    // Renomear um item (mantendo uma palavra) nunca o tira das buscas por essa palavra
+    @Test
+    void buscaSimultaneaNaoPerdeItemDuranteAtualizacao() throws InterruptedException {
+        indice.carregar(List.of(new SugestaoProduto(1, "Vergalhao 0")));
+        AtomicBoolean parar = new AtomicBoolean();
+        AtomicInteger falhas = new AtomicInteger();
+        Thread leitor = new Thread(() -> {
+            while (!parar.get()) {
+                if (indice.buscar("vergalhao", 10).isEmpty()) {
+                    falhas.incrementAndGet();
+                }
+            }
+        });
+        leitor.start();
+        for (int i = 1; i <= 20_000; i++) {
+            indice.atualizar(new SugestaoProduto(1, "Vergalhao " + i));
+        }
+        parar.set(true);
+        leitor.join();
+
+        assertEquals(0, falhas.get());
+        assertTrue(indice.buscar("vergalhao 20000", 10).size() == 1);
+    }
+
+    private static List<Integer> ids(List<SugestaoProduto> sugestoes) {
+        return sugestoes.stream().map(SugestaoProduto::idProduto).toList();
+    }
+}
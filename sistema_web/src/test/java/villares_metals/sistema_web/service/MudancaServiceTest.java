@@ -0,0 +1,108 @@
+package villares_metals.sistema_web.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import villares_metals.sistema_web.domain.Cliente;
+import villares_metals.sistema_web.domain.OrdemServico;
+import villares_metals.sistema_web.domain.Produto;
+import villares_metals.sistema_web.dto.Mudancas;
+
+// Sincronização incremental: carga completa (desde=0) com linhas gravadas por fora da
+// aplicação (seq_mudanca 0), depois só as alterações e exclusões posteriores ao "ate"
+@SpringBootTest
+@ActiveProfiles("teste")
+@Transactional
+class MudancaServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private MudancaService mudancaService;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private OrdemServicoService ordemServicoService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private DadosTeste dados;
+
+    @BeforeEach
+    void preparar() {
+        dados = new DadosTeste(jdbc);
+    }
+
+    @Test
+    void clientesDaCargaCompletaEDepoisSoAsMudancas() {
+        int alterado = dados.cliente("Cliente Sync Alterado");
+        int excluido = dados.cliente("Cliente Sync Excluido");
+        int intocado = dados.cliente("Cliente Sync Intocado");
+
+        Mudancas<Cliente> completa = mudancaService.mudancasClientes(0);
+        assertTrue(idsClientes(completa).containsAll(List.of(alterado, excluido, intocado)));
+        assertEquals(List.of(), completa.excluidos());
+
+        Cliente cliente = clienteService.getCliente(alterado);
+        cliente.setNomeCliente("Cliente Sync Renomeado");
+        clienteService.postCliente(cliente);
+        clienteService.deleteCliente(excluido);
+        entityManager.clear();
+
+        Mudancas<Cliente> incremental = mudancaService.mudancasClientes(completa.ate());
+        assertEquals(List.of(alterado), idsClientes(incremental));
+        assertEquals(List.of(excluido), incremental.excluidos());
+        assertTrue(incremental.ate() > completa.ate());
+
+        Mudancas<Cliente> semNada = mudancaService.mudancasClientes(incremental.ate());
+        assertEquals(List.of(), idsClientes(semNada));
+        assertEquals(List.of(), semNada.excluidos());
+    }
+
+    @Test
+    void ordensVoltamQuandoMudaOProdutoDelas() {
+        int cliente = dados.cliente("Cliente Sync OS");
+        int produto = dados.produto("Barra Sync");
+        int comProduto = dados.ordem(cliente, "PRODUCAO", false, LocalDate.now().plusDays(3), 100);
+        int semProduto = dados.ordem(cliente, "PRODUCAO", false, LocalDate.now().plusDays(4), 100);
+        int excluida = dados.ordem(cliente, "PRODUCAO", false, LocalDate.now().plusDays(5), 100);
+        dados.item(comProduto, produto, 2);
+
+        Mudancas<OrdemServico> completa = mudancaService.mudancasOS(0);
+        assertTrue(completa.alterados().stream().map(OrdemServico::getIdOS).toList()
+                .containsAll(List.of(comProduto, semProduto, excluida)));
+        assertTrue(mudancaService.mudancasProdutos(0).alterados().stream()
+                .map(Produto::getIdProduto).anyMatch(id -> id == produto));
+
+        Produto alterado = produtoService.getProduto(produto);
+        alterado.setNomeProduto("Barra Sync Renomeada");
+        produtoService.postProduto(alterado);
+        ordemServicoService.deleteOS(excluida);
+        entityManager.clear();
+
+        Mudancas<OrdemServico> incremental = mudancaService.mudancasOS(completa.ate());
+        assertEquals(List.of(comProduto), incremental.alterados().stream().map(OrdemServico::getIdOS).toList());
+        assertEquals(List.of(excluida), incremental.excluidos());
+    }
+
+    private static List<Integer> idsClientes(Mudancas<Cliente> mudancas) {
+        return mudancas.alterados().stream().map(Cliente::getIdCliente).toList();
+    }
+}
@@ -0,0 +1,171 @@
+package villares_metals.sistema_web.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import villares_metals.sistema_web.domain.Cliente;
+import villares_metals.sistema_web.domain.OrdemServico;
+import villares_metals.sistema_web.domain.ResumoOS;
+import villares_metals.sistema_web.domain.enums.DimensaoResumo;
+import villares_metals.sistema_web.domain.enums.Granularidade;
+import villares_metals.sistema_web.domain.enums.StatusProducao;
+
+// Resumos mantidos pelo postOS: edição move a ordem de período/status, e duas edições
+// simultâneas da mesma OS não retiram a mesma contribuição duas vezes (nem contam a mesma
+// mudança de status duas vezes no histórico). Consultas: granularidade pedida nunca é trocada
+// (acima do limite responde 400) e sem granularidade vale a menor que cabe. Sem transação no
+// teste: as gravações precisam de commit de verdade. Cada teste usa datas de entrega próprias.
+@SpringBootTest
+@ActiveProfiles("teste")
+class ResumoOSServiceTest {
+
+    private static final LocalDateTime APROVACAO = LocalDateTime.of(2090, 1, 5, 10, 0);
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private OrdemServicoService ordemServicoService;
+
+    @Autowired
+    private ResumoOSService resumoOSService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private DadosTeste dados;
+    private int cliente;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void preparar() {
+        dados = new DadosTeste(jdbc);
+        cliente = dados.cliente("Cliente Resumo");
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void encerrar() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void edicaoMoveOrdemDePeriodoEStatus() {
+        LocalDate entrega = LocalDate.of(2090, 3, 10);
+        LocalDate novaEntrega = LocalDate.of(2090, 3, 11);
+        int id = ordemServicoService.postOS(ordem(null, entrega, StatusProducao.FILA)).getIdOS();
+
+        ordemServicoService.postOS(ordem(id, novaEntrega, StatusProducao.PRODUCAO));
+
+        assertEquals(0, quantidadeNaEntrega(entrega, null));
+        assertEquals(1, quantidadeNaEntrega(novaEntrega, "PRODUCAO"));
+        assertEquals(0, quantidadeNaEntrega(novaEntrega, "FILA"));
+    }
+
+    @Test
+    void edicoesSimultaneasContamUmaVez() throws Exception {
+        LocalDate entrega = LocalDate.of(2090, 4, 20);
+        int id = ordemServicoService.postOS(ordem(null, entrega, StatusProducao.FILA)).getIdOS();
+
+        // A grava e segura a transação aberta; B tenta gravar a mesma mudança nesse meio tempo
+        CountDownLatch gravou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        Future<?> a = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            ordemServicoService.postOS(ordem(id, entrega, StatusProducao.PRODUCAO));
+            gravou.countDown();
+            aguardar(liberar);
+        }));
+        assertEquals(true, gravou.await(10, TimeUnit.SECONDS));
+        Future<?> b = executor.submit(() -> ordemServicoService.postOS(ordem(id, entrega, StatusProducao.PRODUCAO)));
+        Thread.sleep(300); // B fica esperando o lock de A
+        liberar.countDown();
+        a.get(10, TimeUnit.SECONDS);
+        b.get(10, TimeUnit.SECONDS);
+
+        assertEquals(1, quantidadeNaEntrega(entrega, null));
+        assertEquals(1, quantidadeNaEntrega(entrega, "PRODUCAO"));
+        assertEquals(1, dados.contar("SELECT COUNT(*) FROM historico_status_os"
+                + " WHERE n_os = ? AND status_anterior = 'FILA' AND status_novo = 'PRODUCAO'", id));
+    }
+
+    @Test
+    void granularidadePedidaAcimaDoLimiteResponde400() {
+        LocalDate inicio = LocalDate.of(2025, 1, 1);
+
+        assertEquals(List.of(), resumoOSService.consultar(
+                Granularidade.DIA, DimensaoResumo.ENTREGA, inicio, inicio.plusDays(61)));
+        ResponseStatusException erro = assertThrows(ResponseStatusException.class, () -> resumoOSService.consultar(
+                Granularidade.DIA, DimensaoResumo.ENTREGA, inicio, inicio.plusDays(62)));
+        assertEquals(HttpStatus.BAD_REQUEST, erro.getStatusCode());
+        assertTrue(erro.getReason().contains("63 períodos em DIA"));
+        assertThrows(ResponseStatusException.class, () -> resumoOSService.consultar(
+                Granularidade.SEMANA, DimensaoResumo.ENTREGA, inicio, inicio.plusYears(2)));
+    }
+
+    @Test
+    void semGranularidadeUsaAMenorQueCabe() {
+        LocalDate inicio = LocalDate.of(2091, 1, 1);
+        ordemServicoService.postOS(ordem(null, LocalDate.of(2091, 6, 12), StatusProducao.FILA));
+
+        assertEquals(Granularidade.DIA, ResumoOSService.granularidadeParaIntervalo(inicio, inicio.plusDays(61)));
+        assertEquals(Granularidade.SEMANA, ResumoOSService.granularidadeParaIntervalo(inicio, inicio.plusYears(1)));
+        assertEquals(Granularidade.MES, ResumoOSService.granularidadeParaIntervalo(inicio, inicio.plusYears(3)));
+        assertEquals(53, Granularidade.SEMANA.periodos(inicio, inicio.plusYears(1).minusDays(1)));
+
+        // cada linha devolvida informa a granularidade escolhida
+        List<ResumoOS> linhas = resumoOSService.consultar(null, DimensaoResumo.ENTREGA, inicio, inicio.plusYears(1));
+        assertEquals(1, linhas.size());
+        assertEquals(Granularidade.SEMANA, linhas.get(0).getGranularidade());
+        assertEquals(LocalDate.of(2091, 6, 11), linhas.get(0).getInicioPeriodo());
+    }
+
+    // soma das linhas DIA/ENTREGA da data (status null = todos)
+    private int quantidadeNaEntrega(LocalDate entrega, String status) {
+        Integer total = jdbc.queryForObject("SELECT COALESCE(SUM(quantidade), 0) FROM resumo_os"
+                + " WHERE granularidade = 'DIA' AND dimensao = 'ENTREGA' AND inicio_periodo = ?"
+                + " AND (? IS NULL OR status_producao = ?)", Integer.class, entrega, status, status);
+        return total;
+    }
+
+    private OrdemServico ordem(Integer id, LocalDate entrega, StatusProducao status) {
+        Cliente c = new Cliente();
+        c.setIdCliente(cliente);
+        OrdemServico os = new OrdemServico();
+        os.setIdOS(id);
+        os.setDescricao("Ordem do resumo");
+        os.setDataEntrega(entrega);
+        os.setDataAprovacao(APROVACAO);
+        os.setStatusPagamento(false);
+        os.setStatusProducao(status);
+        os.setValorServico(100);
+        os.setCliente(c);
+        return os;
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}